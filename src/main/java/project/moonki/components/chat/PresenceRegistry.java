@@ -0,0 +1,176 @@
+package project.moonki.components.chat;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+import project.moonki.config.ws.WsUserPrincipal;
+import project.moonki.dto.chat.PresenceEventDto;
+import project.moonki.utils.LogUtil;
+
+import java.security.Principal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * STOMP 세션 이벤트 기반 접속 상태(presence) 저장소.
+ *
+ * - 사용자 -> 세션 목록을 userId 해시로 나눈 샤드에 보관한다(사용자당 여러 세션/탭 지원).
+ * - 세션별 구독(subscriptionId -> destination)을 추적해 알림 토픽(/topic/notify.{userId}) 수신 여부를 판단한다.
+ * - 접속/종료 전환은 모아 두었다가 주기적으로 발행한다. 접속 상태는 DM 상대에게만 공개하므로
+ *   전환된 사용자의 DM 상대 중 이 노드에 접속 중인 사용자별로 묶어 /topic/presence.{userId} 로 보낸다.
+ */
+@Slf4j
+@Component
+public class PresenceRegistry {
+
+    private static final String NOTIFY_PREFIX = "/topic/notify.";
+    private static final String PRESENCE_PREFIX = "/topic/presence.";
+
+    private final SimpMessagingTemplate broker;
+    private final RoomParticipantCache participants;
+    private final List<ConcurrentHashMap<Long, Set<String>>> shards;
+
+    // sessionId -> 세션 정보
+    private final ConcurrentHashMap<String, SessionInfo> sessions = new ConcurrentHashMap<>();
+
+    // 발행 대기 중인 전환(userId -> online 여부, 마지막 값 우선)
+    private final ConcurrentHashMap<Long, Boolean> changes = new ConcurrentHashMap<>();
+
+    private record SessionInfo(Long userId, Map<String, String> subscriptions) {}
+
+    public PresenceRegistry(
+            SimpMessagingTemplate broker,
+            RoomParticipantCache participants,
+            @Value("${chat.presence.shards:16}") int shardCount
+    ) {
+        this.broker = broker;
+        this.participants = participants;
+        List<ConcurrentHashMap<Long, Set<String>>> list = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) list.add(new ConcurrentHashMap<>());
+        this.shards = List.copyOf(list);
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        Long userId = userPk(event.getUser());
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (userId == null || sessionId == null) return;
+
+        sessions.put(sessionId, new SessionInfo(userId, new ConcurrentHashMap<>()));
+        shard(userId).compute(userId, (k, set) -> {
+            Set<String> s = (set != null) ? set : ConcurrentHashMap.newKeySet();
+            if (s.isEmpty()) changes.put(userId, Boolean.TRUE);
+            s.add(sessionId);
+            return s;
+        });
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        SessionInfo info = sessions.remove(event.getSessionId());
+        if (info == null) return;
+
+        Long userId = info.userId();
+        shard(userId).computeIfPresent(userId, (k, set) -> {
+            set.remove(event.getSessionId());
+            if (!set.isEmpty()) return set;
+            changes.put(userId, Boolean.FALSE);
+            return null;
+        });
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor h = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        SessionInfo info = (h.getSessionId() != null) ? sessions.get(h.getSessionId()) : null;
+        if (info != null && h.getSubscriptionId() != null && h.getDestination() != null) {
+            info.subscriptions().put(h.getSubscriptionId(), h.getDestination());
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor h = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        SessionInfo info = (h.getSessionId() != null) ? sessions.get(h.getSessionId()) : null;
+        if (info != null && h.getSubscriptionId() != null) {
+            info.subscriptions().remove(h.getSubscriptionId());
+        }
+    }
+
+    /** 접속 중(세션 1개 이상) 여부 */
+    public boolean isOnline(Long userId) {
+        return userId != null && shard(userId).containsKey(userId);
+    }
+
+    /** 사용자 세션 수 */
+    public int sessionCount(Long userId) {
+        if (userId == null) return 0;
+        Set<String> s = shard(userId).get(userId);
+        return (s == null) ? 0 : s.size();
+    }
+
+    /** 알림 토픽(/topic/notify.{userId})을 구독 중인 세션이 있는지 */
+    public boolean isReceivingNotifications(Long userId) {
+        if (userId == null) return false;
+        Set<String> s = shard(userId).get(userId);
+        if (s == null) return false;
+        String notify = NOTIFY_PREFIX + userId;
+        for (String id : s) {
+            SessionInfo info = sessions.get(id);
+            if (info != null && info.subscriptions().containsValue(notify)) return true;
+        }
+        return false;
+    }
+
+    /** 주어진 사용자 중 접속 중인 사용자 */
+    public Set<Long> onlineAmong(Collection<Long> userIds) {
+        Set<Long> out = new HashSet<>();
+        for (Long id : userIds) {
+            if (isOnline(id)) out.add(id);
+        }
+        return out;
+    }
+
+    /** 모아 둔 접속 상태 전환을 받는 사람(접속 중인 DM 상대)별로 묶어 발행 */
+    @Scheduled(fixedDelayString = "${chat.presence.broadcast-interval-ms:1000}")
+    public void broadcast() {
+        if (changes.isEmpty()) return;
+        try {
+            Map<Long, List<Long>> online = new HashMap<>();
+            Map<Long, List<Long>> offline = new HashMap<>();
+            for (Long userId : List.copyOf(changes.keySet())) {
+                Boolean up = changes.remove(userId);
+                if (up == null) continue;
+                // 전환이 상쇄된 경우(끊김 후 즉시 재접속) 현재 상태 기준으로 발행
+                Map<Long, List<Long>> target = isOnline(userId) ? online : offline;
+                for (Long watcher : participants.partnersOf(userId)) {
+                    if (isOnline(watcher)) target.computeIfAbsent(watcher, k -> new ArrayList<>()).add(userId);
+                }
+            }
+            Set<Long> watchers = new HashSet<>(online.keySet());
+            watchers.addAll(offline.keySet());
+            for (Long watcher : watchers) {
+                broker.convertAndSend(PRESENCE_PREFIX + watcher, new PresenceEventDto(
+                        online.getOrDefault(watcher, List.of()), offline.getOrDefault(watcher, List.of())));
+            }
+        } catch (Exception e) {
+            LogUtil.error(log, PresenceRegistry.class, e);
+        }
+    }
+
+    private ConcurrentHashMap<Long, Set<String>> shard(Long userId) {
+        return shards.get(Math.floorMod(userId.hashCode(), shards.size()));
+    }
+
+    private static Long userPk(Principal principal) {
+        return (principal instanceof WsUserPrincipal p) ? p.getUserPk() : null;
+    }
+}
@@ -0,0 +1,138 @@
+package project.moonki.components.chat;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.moonki.utils.LogUtil;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 읽음 처리(read receipt) write-behind 버퍼.
+ *
+ * - 같은 (방, 사용자)에 대한 반복 읽음 처리를 메모리에서 가장 큰 워터마크(seq) 하나로 합친다.
+ * - 주기적으로 chat_read / chat_unread 에 JDBC 배치 UPDATE 로 반영한다.
+ *   (방, 사용자) 순으로 정렬해 flush-chunk-size 개씩 짧은 트랜잭션으로 나누고, 각 트랜잭션은 먼저 방 행을 ID 순으로
+ *   공유 잠금한 뒤 chat_unread 를 갱신한다. 메시지 저장(방 FOR UPDATE -> chat_unread)과 잠금 순서가 같아 교착이 생기지 않는다.
+ * - 반영 전까지는 {@link #pendingFor(Long)}로 버퍼링된 워터마크를 조회해 미읽음 계산에 사용한다.
+ *   (DB 반영이 커밋된 뒤에만 버퍼에서 제거하므로 조회 공백이 없다)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReadReceiptBuffer {
+
+    private static final String UPSERT_READ = """
+            insert into chat_read (room_id, user_id, last_read_at, last_read_seq)
+            values (?, ?, ?, ?)
+            on duplicate key update
+                last_read_seq = greatest(last_read_seq, values(last_read_seq)),
+                last_read_at = values(last_read_at)
+            """;
+
+    private static final String RECOMPUTE_UNREAD = """
+            update chat_unread u
+            join chat_room r on r.id = u.room_id
+            join chat_read cr on cr.room_id = u.room_id and cr.user_id = u.user_id
+            set u.unread_count = greatest(r.last_seq - cr.last_read_seq, 0)
+            where u.room_id = ? and u.user_id = ?
+            """;
+
+    private static final String LOCK_ROOMS = "select id from chat_room where id in (%s) order by id for share";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${chat.read-receipt.flush-chunk-size:200}")
+    private int chunkSize;
+
+    // userId -> (roomId -> 워터마크)
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<Long, Mark>> pending = new ConcurrentHashMap<>();
+
+    private record Mark(long seq, LocalDateTime at) {
+        Mark max(Mark o) {
+            return (o.seq > seq) ? o : this;
+        }
+    }
+
+    /** 읽음 워터마크 기록(기존보다 큰 경우에만 반영) */
+    public void mark(Long roomId, Long userId, long seq, LocalDateTime at) {
+        Mark mark = new Mark(seq, at);
+        // 사용자 단위 compute 안에서 병합 -> flush 의 빈 맵 제거와 경합하지 않음
+        pending.compute(userId, (k, rooms) -> {
+            ConcurrentHashMap<Long, Mark> m = (rooms != null) ? rooms : new ConcurrentHashMap<>();
+            m.merge(roomId, mark, Mark::max);
+            return m;
+        });
+    }
+
+    /** 아직 DB에 반영되지 않은 사용자의 워터마크(roomId -> seq) */
+    public Map<Long, Long> pendingFor(Long userId) {
+        Map<Long, Mark> marks = pending.get(userId);
+        if (marks == null || marks.isEmpty()) return Map.of();
+        Map<Long, Long> out = new HashMap<>();
+        marks.forEach((roomId, m) -> out.put(roomId, m.seq()));
+        return out;
+    }
+
+    @Scheduled(fixedDelayString = "${chat.read-receipt.flush-interval-ms:1000}")
+    public void flush() {
+        // 스냅샷 수집(버퍼에서는 아직 제거하지 않음), (방, 사용자) 순 정렬 -> 모든 트랜잭션이 같은 순서로 잠금
+        List<Pending> snapshot = new ArrayList<>();
+        pending.forEach((userId, rooms) -> rooms.forEach((roomId, m) -> snapshot.add(new Pending(roomId, userId, m))));
+        if (snapshot.isEmpty()) return;
+        snapshot.sort(Comparator.comparing(Pending::roomId).thenComparing(Pending::userId));
+
+        int flushed = 0;
+        for (int from = 0; from < snapshot.size(); from += chunkSize) {
+            List<Pending> chunk = snapshot.subList(from, Math.min(from + chunkSize, snapshot.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(chunk));
+            } catch (Exception e) {
+                // 실패 시 나머지는 버퍼 유지 -> 다음 주기에 재시도
+                LogUtil.error(log, ReadReceiptBuffer.class, e);
+                break;
+            }
+            // 커밋 이후, 그 사이 더 큰 워터마크가 들어오지 않은 항목만 제거
+            for (Pending p : chunk) {
+                pending.computeIfPresent(p.userId(), (userId, rooms) -> {
+                    rooms.remove(p.roomId(), p.mark());
+                    return rooms.isEmpty() ? null : rooms;
+                });
+            }
+            flushed += chunk.size();
+        }
+        log.debug("[ReadReceiptBuffer] flushed {} read receipts", flushed);
+    }
+
+    private record Pending(Long roomId, Long userId, Mark mark) {}
+
+    private void write(List<Pending> chunk) {
+        List<Long> roomIds = chunk.stream().map(Pending::roomId).distinct().toList(); // 정렬된 순서 유지
+        jdbcTemplate.queryForList(
+                String.format(LOCK_ROOMS, String.join(",", Collections.nCopies(roomIds.size(), "?"))),
+                Long.class, roomIds.toArray());
+
+        List<Object[]> readArgs = new ArrayList<>(chunk.size());
+        List<Object[]> unreadArgs = new ArrayList<>(chunk.size());
+        for (Pending p : chunk) {
+            readArgs.add(new Object[]{p.roomId(), p.userId(), Timestamp.valueOf(p.mark().at()), p.mark().seq()});
+            unreadArgs.add(new Object[]{p.roomId(), p.userId()});
+        }
+        jdbcTemplate.batchUpdate(UPSERT_READ, readArgs);
+        jdbcTemplate.batchUpdate(RECOMPUTE_UNREAD, unreadArgs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,169 @@
+package project.moonki.components.chat;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import project.moonki.domain.chat.ChatMessage;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 최근 활성 방의 최신 메시지 캐시(방당 최대 N건, 방 개수 상한 + 유휴 만료).
+ *
+ * - 메시지 저장 커밋 후 {@link #append(Long, List)}로 채우고, 첫 페이지 조회 miss 시 {@link #fill(Long, Page)}로 채운다.
+ * - 엔트리는 seq 가 빈틈 없이 이어진 최신 구간만 보관한다(최신순). 이어지지 않는 값이 오면 새 구간으로 교체한다.
+ * - 요청한 페이지가 보관 구간 안에 있거나, 구간이 방의 첫 메시지(seq=1)까지 포함할 때만 캐시로 응답한다.
+ * - 여러 노드(chat.fanout.mode != local)에서는 다른 노드가 저장한 메시지가 append 되지 않을 수 있으므로
+ *   응답 전에 방의 마지막 seq(DB)와 구간의 최신 seq 를 비교해 다르면 버린다.
+ */
+@Component
+public class RecentMessageCache {
+
+    private final int perRoom;
+    private final boolean clustered;
+    private final Cache<Long, Window> cache;
+
+    /**
+     * @param messages 최신순(seq 내림차순) 메시지
+     */
+    private record Window(List<ChatMessage> messages) {
+        long newestSeq() { return messages.get(0).getSeq(); }
+        long oldestSeq() { return messages.get(messages.size() - 1).getSeq(); }
+        boolean reachesFirst() { return oldestSeq() <= 1L; }
+    }
+
+    public RecentMessageCache(
+            @Value("${chat.recent-cache.per-room:50}") int perRoom,
+            @Value("${chat.recent-cache.max-rooms:2000}") long maxRooms,
+            @Value("${chat.recent-cache.expire-after-access-seconds:600}") long expireSeconds,
+            @Value("${chat.fanout.mode:local}") String fanoutMode
+    ) {
+        this.perRoom = perRoom;
+        this.clustered = !"local".equalsIgnoreCase(fanoutMode);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxRooms)
+                .expireAfterAccess(Duration.ofSeconds(expireSeconds))
+                .build();
+    }
+
+    public int perRoom() {
+        return perRoom;
+    }
+
+    /** 응답 전에 DB 의 마지막 seq 확인이 필요한지(여러 노드) */
+    public boolean requiresLastSeqCheck() {
+        return clustered;
+    }
+
+    /**
+     * 최신순 페이지 조회 - 구간의 최신 seq 가 방의 마지막 seq 와 같을 때만(다르면 구간을 버림)
+     *
+     * @param roomId
+     * @param page
+     * @param size
+     * @param lastSeq 방의 현재 마지막 seq(DB)
+     * @return 덮지 못하거나 뒤처진 구간이면 empty
+     */
+    public Optional<Page<ChatMessage>> page(Long roomId, int page, int size, long lastSeq) {
+        Window w = cache.getIfPresent(roomId);
+        if (w == null) return Optional.empty();
+        if (w.newestSeq() != lastSeq) {
+            cache.asMap().remove(roomId, w);
+            return Optional.empty();
+        }
+        return page(roomId, page, size);
+    }
+
+    /**
+     * 최신순 페이지 조회(캐시 구간이 요청 범위를 덮을 때만)
+     *
+     * @param roomId
+     * @param page
+     * @param size
+     * @return 덮지 못하면 empty
+     */
+    public Optional<Page<ChatMessage>> page(Long roomId, int page, int size) {
+        Window w = cache.getIfPresent(roomId);
+        if (w == null) return Optional.empty();
+
+        long from = (long) page * size;
+        long to = from + size;
+        List<ChatMessage> msgs = w.messages();
+        if (to > msgs.size() && !w.reachesFirst()) return Optional.empty();
+
+        List<ChatMessage> content = (from >= msgs.size())
+                ? List.of()
+                : msgs.subList((int) from, (int) Math.min(to, msgs.size()));
+        // seq 는 1부터 빈틈 없이 증가하므로 최신 seq == 방의 전체 메시지 수
+        return Optional.of(new PageImpl<>(content, PageRequest.of(page, size), w.newestSeq()));
+    }
+
+    /**
+     * seq 이후 메시지 조회(오래된순) - 캐시 구간이 (afterSeq, upToSeq] 를 모두 덮을 때만
+     *
+     * @param roomId
+     * @param afterSeq 이 seq 이후(제외)
+     * @param upToSeq  방의 현재 마지막 seq
+     * @param limit
+     * @return 덮지 못하면 empty
+     */
+    public Optional<List<ChatMessage>> afterSeq(Long roomId, long afterSeq, long upToSeq, int limit) {
+        Window w = cache.getIfPresent(roomId);
+        if (w == null || w.newestSeq() < upToSeq || w.oldestSeq() > afterSeq + 1) return Optional.empty();
+
+        List<ChatMessage> out = new ArrayList<>();
+        List<ChatMessage> msgs = w.messages();
+        for (int i = msgs.size() - 1; i >= 0 && out.size() < limit; i--) {
+            long seq = msgs.get(i).getSeq();
+            if (seq > afterSeq && seq <= upToSeq) out.add(msgs.get(i));
+        }
+        return Optional.of(out);
+    }
+
+    /** 저장 커밋 후 호출: 이어지는 구간이면 앞에 붙이고, 아니면 새 구간으로 교체(과거 값은 무시) */
+    public void append(Long roomId, List<ChatMessage> saved) {
+        if (saved.isEmpty()) return;
+        List<ChatMessage> fresh = new ArrayList<>(saved);
+        fresh.sort(Comparator.comparing(ChatMessage::getSeq).reversed());
+        long freshOldest = fresh.get(fresh.size() - 1).getSeq();
+        long freshNewest = fresh.get(0).getSeq();
+
+        cache.asMap().compute(roomId, (k, w) -> {
+            if (w != null && freshNewest <= w.newestSeq()) return w;
+            if (w == null || freshOldest != w.newestSeq() + 1) return new Window(trim(fresh));
+
+            List<ChatMessage> merged = new ArrayList<>(fresh.size() + w.messages().size());
+            merged.addAll(fresh);
+            merged.addAll(w.messages());
+            return new Window(trim(merged));
+        });
+    }
+
+    /** 첫 페이지 miss 후 DB 조회 결과로 채움(그 사이 더 최신 구간이 들어왔으면 유지) */
+    public void fill(Long roomId, Page<ChatMessage> newest) {
+        if (newest.getNumber() != 0 || newest.isEmpty()) return;
+        if (newest.getContent().stream().anyMatch(m -> m.getSeq() == null)) return; // seq 백필 전
+        List<ChatMessage> loaded = new ArrayList<>(newest.getContent());
+        loaded.sort(Comparator.comparing(ChatMessage::getSeq).reversed()); // 같은 created_at 은 seq 로 정렬
+        cache.asMap().compute(roomId, (k, w) -> {
+            if (w != null && w.newestSeq() >= loaded.get(0).getSeq()) return w;
+            return new Window(trim(loaded));
+        });
+    }
+
+    public void evict(Long roomId) {
+        cache.invalidate(roomId);
+    }
+
+    private List<ChatMessage> trim(List<ChatMessage> desc) {
+        return List.copyOf(desc.size() > perRoom ? desc.subList(0, perRoom) : desc);
+    }
+}
@@ -0,0 +1,112 @@
+package project.moonki.components.chat;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import project.moonki.domain.chat.ChatRoom;
+import project.moonki.repository.chat.ChatRoomRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 채팅방 참여자 캐시(roomId -> 참여자 2명).
+ * DM 방의 참여자는 생성 후 변하지 않으므로 만료 없이 크기 상한만 둔다.
+ * 참여자 확인/상대방 조회(otherOf)를 DB 조회 없이 처리한다.
+ * 없는 방 ID 는 짧게 음성 캐시해 반복 조회(예: 임의 방 구독 시도)가 DB 로 가지 않게 하고, 방이 생성되면(put) 지운다.
+ * 사용자별 DM 상대 목록(partnersOf, 접속 상태 공개 범위)도 함께 두고, 처음 적재되는 방의 두 사용자 항목을 지운다
+ * (다른 노드에서 만든 방은 partners-ttl-seconds 가 지나야 반영).
+ */
+@Component
+public class RoomParticipantCache {
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final Cache<Long, Participants> cache;
+    private final Cache<Long, Boolean> missing;
+    private final Cache<Long, Set<Long>> partners;
+
+    public record Participants(Long roomId, Long user1Id, Long user2Id) {
+
+        static Participants of(ChatRoom room) {
+            return new Participants(room.getId(), room.getUser1Id(), room.getUser2Id());
+        }
+
+        public boolean hasParticipant(Long uid) {
+            return user1Id.equals(uid) || user2Id.equals(uid);
+        }
+
+        public Long otherOf(Long me) {
+            if (user1Id.equals(me)) return user2Id;
+            if (user2Id.equals(me)) return user1Id;
+            return null;
+        }
+    }
+
+    public RoomParticipantCache(
+            ChatRoomRepository chatRoomRepository,
+            @Value("${chat.participant-cache.max-rooms:10000}") long maxRooms,
+            @Value("${chat.participant-cache.missing-ttl-ms:30000}") long missingTtlMs,
+            @Value("${chat.participant-cache.partners-ttl-seconds:300}") long partnersTtlSeconds
+    ) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxRooms)
+                .build();
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(maxRooms)
+                .expireAfterWrite(Duration.ofMillis(missingTtlMs))
+                .build();
+        this.partners = Caffeine.newBuilder()
+                .maximumSize(maxRooms)
+                .expireAfterWrite(Duration.ofSeconds(partnersTtlSeconds))
+                .build();
+    }
+
+    /** 사용자의 DM 상대 ID(miss 시 DB 조회) */
+    public Set<Long> partnersOf(Long userId) {
+        if (userId == null) return Set.of();
+        return partners.get(userId, id -> Set.copyOf(chatRoomRepository.findPartnerIds(id)));
+    }
+
+    /** 참여자 조회(miss 시 DB 조회 후 적재, 없는 방은 적재하지 않음) */
+    public Optional<Participants> find(Long roomId) {
+        Participants p = cache.getIfPresent(roomId);
+        if (p != null) return Optional.of(p);
+        if (missing.getIfPresent(roomId) != null) return Optional.empty();
+
+        p = cache.get(roomId, id -> chatRoomRepository.findById(id).map(Participants::of).orElse(null));
+        if (p == null) missing.put(roomId, Boolean.TRUE);
+        return Optional.ofNullable(p);
+    }
+
+    /**
+     * 참여자 검증
+     *
+     * @param roomId
+     * @param userId
+     * @return 방 참여자
+     * @throws ResponseStatusException 방이 없으면 404, 참여자가 아니면 403
+     */
+    public Participants require(Long roomId, Long userId) {
+        Participants p = find(roomId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        if (!p.hasParticipant(userId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        }
+        return p;
+    }
+
+    /** 방 생성/조회 직후 미리 적재(음성 캐시 무효화) */
+    public void put(ChatRoom room) {
+        if (room.getId() == null) return;
+        if (cache.asMap().put(room.getId(), Participants.of(room)) == null) {
+            // 새 방일 수 있으므로 두 사용자의 상대 목록을 다시 읽게 함
+            partners.invalidate(room.getUser1Id());
+            partners.invalidate(room.getUser2Id());
+        }
+        missing.invalidate(room.getId());
+    }
+}
@@ -0,0 +1,194 @@
+package project.moonki.components.chat;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import project.moonki.config.ws.WsUserPrincipal;
+import project.moonki.dto.chat.UnreadEventDto;
+import project.moonki.utils.LogUtil;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 미읽음 알림(/topic/notify.{userId}) 발행기.
+ *
+ * 수신자별로 방마다 (마지막 seq, 읽은 seq)를 메모리에 유지하고 미읽음 = max(0, 마지막 seq - 읽은 seq)로 계산한다.
+ * - 상태는 WebSocket 연결 시 또는 처음 사용할 때 chat_unread + chat_room.last_seq 한 번 조회로 채운다.
+ * - 이후 메시지/읽음 이벤트는 seq 최대값 병합만 하므로 순서가 뒤바뀌거나 중복되어도 결과가 같고, 카운트 쿼리가 없다.
+ * - 모르는 방의 이벤트처럼 상태가 어긋난 것이 확인되면 다시 채우고 RESYNC(절대값) 이벤트를 보낸다.
+ *
+ * 이벤트 타입: UNREAD(새 메시지, delta > 0), READ(읽음, delta < 0), RESYNC(재동기화, total 만 유효)
+ */
+@Slf4j
+@Component
+public class UnreadNotifier {
+
+    private static final String SELECT_COUNTERS = """
+            select u.room_id, u.other_id, u.unread_count, r.last_seq
+            from chat_unread u
+            join chat_room r on r.id = u.room_id
+            where u.user_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadReceiptBuffer readReceiptBuffer;
+    private final SimpMessagingTemplate broker;
+    private final Cache<Long, Counters> counters;
+
+    public UnreadNotifier(
+            JdbcTemplate jdbcTemplate,
+            ReadReceiptBuffer readReceiptBuffer,
+            SimpMessagingTemplate broker,
+            @Value("${chat.unread.notify.max-users:50000}") long maxUsers,
+            @Value("${chat.unread.notify.expire-after-access-minutes:60}") long expireMinutes
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readReceiptBuffer = readReceiptBuffer;
+        this.broker = broker;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofMinutes(expireMinutes))
+                .build();
+    }
+
+    /** 방별 워터마크 */
+    private static final class RoomMark {
+        final long otherId;
+        long lastSeq;
+        long readSeq;
+
+        RoomMark(long otherId, long lastSeq, long readSeq) {
+            this.otherId = otherId;
+            this.lastSeq = lastSeq;
+            this.readSeq = readSeq;
+        }
+
+        long unread() {
+            return Math.max(0L, lastSeq - readSeq);
+        }
+    }
+
+    /** 수신자 1명의 미읽음 상태(수신자 단위로 동기화) */
+    private static final class Counters {
+        final Map<Long, RoomMark> rooms = new HashMap<>();
+        long total;
+    }
+
+    /** 연결 시 미리 채움 */
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        if (event.getUser() instanceof WsUserPrincipal p && p.getUserPk() != null) {
+            counters.get(p.getUserPk(), this::load);
+        }
+    }
+
+    /**
+     * 새 메시지 반영 후 수신자에게 UNREAD 이벤트 발행
+     *
+     * @param roomId
+     * @param senderId
+     * @param receiverId
+     * @param seq 메시지 순번
+     */
+    public void onMessage(Long roomId, Long senderId, Long receiverId, long seq) {
+        try {
+            Counters c = counters.get(receiverId, this::load);
+            UnreadEventDto evt = null;
+            synchronized (c) {
+                RoomMark m = c.rooms.get(roomId);
+                if (m != null) {
+                    // 막 채운 상태는 이 메시지까지 포함하고 있을 수 있으므로 delta 는 직전 seq 기준으로 계산
+                    long before = Math.max(0L, Math.min(m.lastSeq, seq - 1) - m.readSeq);
+                    long old = m.unread();
+                    m.lastSeq = Math.max(m.lastSeq, seq);
+                    c.total += m.unread() - old;
+                    evt = new UnreadEventDto("UNREAD", c.total, roomId, senderId, m.unread(), m.unread() - before);
+                }
+            }
+            if (evt == null) {
+                // 모르는 방(채운 뒤 생성된 방 등) -> 상태가 어긋남
+                resync(receiverId);
+                return;
+            }
+            broker.convertAndSend("/topic/notify." + receiverId, evt);
+        } catch (Exception e) {
+            LogUtil.error(log, UnreadNotifier.class, e);
+        }
+    }
+
+    /**
+     * 읽음 반영 후 변화가 있으면 READ 이벤트 발행(상태가 없으면 아무것도 하지 않음)
+     *
+     * @param roomId
+     * @param userId 읽은 사용자
+     * @param readSeq 읽은 위치(seq)
+     */
+    public void onRead(Long roomId, Long userId, long readSeq) {
+        try {
+            Counters c = counters.getIfPresent(userId);
+            if (c == null) return;
+            UnreadEventDto evt = null;
+            synchronized (c) {
+                RoomMark m = c.rooms.get(roomId);
+                if (m != null && readSeq > m.readSeq) {
+                    long old = m.unread();
+                    m.readSeq = readSeq;
+                    m.lastSeq = Math.max(m.lastSeq, readSeq);
+                    long delta = m.unread() - old;
+                    c.total += delta;
+                    if (delta != 0) {
+                        evt = new UnreadEventDto("READ", c.total, roomId, m.otherId, m.unread(), delta);
+                    }
+                }
+            }
+            if (evt != null) broker.convertAndSend("/topic/notify." + userId, evt);
+        } catch (Exception e) {
+            LogUtil.error(log, UnreadNotifier.class, e);
+        }
+    }
+
+    /** DB 기준으로 다시 채우고 RESYNC(절대값) 이벤트 발행 */
+    public void resync(Long userId) {
+        Counters fresh = load(userId);
+        counters.put(userId, fresh);
+        long total;
+        synchronized (fresh) {
+            total = fresh.total;
+        }
+        log.debug("[UnreadNotifier] resync userId={}, total={}", userId, total);
+        broker.convertAndSend("/topic/notify." + userId, new UnreadEventDto("RESYNC", total, 0L, 0L, 0L, 0L));
+    }
+
+    /** 사용자 상태 폐기(오프라인 수신자 - 재접속 시 다시 채움) */
+    public void forget(Long userId) {
+        counters.invalidate(userId);
+    }
+
+    /** 전체 상태 폐기(카운터 재계산 후 등) - 다음 사용 시 다시 채움 */
+    public void invalidateAll() {
+        counters.invalidateAll();
+    }
+
+    /** chat_unread + chat_room.last_seq 1회 조회, 아직 반영 전인 읽음 워터마크는 버퍼에서 보정 */
+    private Counters load(Long userId) {
+        Map<Long, Long> pending = readReceiptBuffer.pendingFor(userId);
+        Counters c = new Counters();
+        jdbcTemplate.query(SELECT_COUNTERS, rs -> {
+            long roomId = rs.getLong(1);
+            long lastSeq = rs.getLong(4);
+            long readSeq = Math.max(lastSeq - rs.getLong(3), pending.getOrDefault(roomId, 0L));
+            RoomMark m = new RoomMark(rs.getLong(2), lastSeq, readSeq);
+            c.rooms.put(roomId, m);
+            c.total += m.unread();
+        }, userId);
+        return c;
+    }
+}
@@ -0,0 +1,132 @@
+package project.moonki.components.chat.fanout;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import project.moonki.components.chat.PresenceRegistry;
+import project.moonki.components.chat.RecentMessageCache;
+import project.moonki.components.chat.RoomParticipantCache;
+import project.moonki.components.chat.UnreadNotifier;
+import project.moonki.dto.chat.ChatMessageDto;
+import project.moonki.utils.LogUtil;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이 노드의 구독자에게 메시지를 발행하는 공통 처리(모든 fanout 모드가 사용).
+ *
+ * 단일 노드(local)에서는 미읽음 카운터를 메모리에 유지하고, 알림 토픽 구독자가 없으면 발행을 생략한다.
+ * 여러 노드에서는 읽음 처리가 다른 노드에서 일어날 수 있으므로 알림마다 DB 기준으로 채우고 바로 폐기한다.
+ * 다른 노드에서 온 메시지는 발행 시각과의 차이를 chat.fanout.cross_node.latency 로 기록하고,
+ * 이 노드의 최근 메시지 캐시에는 해당 방 구간이 없으므로(저장은 다른 노드) 방 구간을 비운다.
+ */
+@Slf4j
+@Component
+public class ChatDelivery {
+
+    private final SimpMessagingTemplate broker;
+    private final RoomParticipantCache participants;
+    private final UnreadNotifier unreadNotifier;
+    private final PresenceRegistry presence;
+    private final RecentMessageCache recentMessageCache;
+    private final MeterRegistry meterRegistry;
+    private final boolean suppressOfflineNotify;
+    private final boolean clustered;
+    private final String nodeId;
+
+    public ChatDelivery(
+            SimpMessagingTemplate broker,
+            RoomParticipantCache participants,
+            UnreadNotifier unreadNotifier,
+            PresenceRegistry presence,
+            RecentMessageCache recentMessageCache,
+            MeterRegistry meterRegistry,
+            @Value("${chat.presence.suppress-offline-notify:true}") boolean suppressOfflineNotify,
+            @Value("${chat.fanout.mode:local}") String mode,
+            @Value("${chat.fanout.node-id:}") String nodeId
+    ) {
+        this.broker = broker;
+        this.participants = participants;
+        this.unreadNotifier = unreadNotifier;
+        this.presence = presence;
+        this.recentMessageCache = recentMessageCache;
+        this.meterRegistry = meterRegistry;
+        this.suppressOfflineNotify = suppressOfflineNotify;
+        this.clustered = !"local".equalsIgnoreCase(mode);
+        this.nodeId = StringUtils.hasText(nodeId) ? nodeId : UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /** 방 토픽 발행 + 수신자 알림(이 노드의 구독자 기준) */
+    public void deliver(ChatMessageDto m) {
+        try {
+            broker.convertAndSend("/topic/chat.room." + m.roomId(), m);
+            notifyUnread(m, false);
+        } catch (Exception e) {
+            LogUtil.error(log, ChatDelivery.class, e);
+        }
+    }
+
+    /**
+     * 다른 노드에서 발행된 메시지 전달(지연 시간 기록, 이 노드의 최근 메시지 캐시 무효화)
+     *
+     * @param lagMs 발행부터 이 노드가 받기까지 걸린 시간(모드별 기준 시계로 계산)
+     */
+    public void deliverRemote(ChatMessageDto m, String mode, long lagMs) {
+        recordLatency(mode, lagMs);
+        recentMessageCache.evict(m.roomId());
+        deliver(m);
+    }
+
+    /** relay 모드: 방 토픽은 외부 브로커로(발행 노드/시각 헤더 포함), 알림은 구독 노드와 무관하게 발행 */
+    public void deliverThroughRelay(ChatMessageDto m, Map<String, Object> headers) {
+        try {
+            broker.convertAndSend("/topic/chat.room." + m.roomId(), m, headers);
+            notifyUnread(m, true);
+        } catch (Exception e) {
+            LogUtil.error(log, ChatDelivery.class, e);
+        }
+    }
+
+    public void recordLatency(String mode, long lagMs) {
+        Timer.builder("chat.fanout.cross_node.latency")
+                .tag("mode", mode)
+                .description("다른 노드에서 발행된 메시지가 이 노드에 전달되기까지 걸린 시간")
+                .register(meterRegistry)
+                .record(Math.max(0L, lagMs), TimeUnit.MILLISECONDS);
+    }
+
+    private void notifyUnread(ChatMessageDto m, boolean anyNode) {
+        Long roomId = m.roomId();
+        Long senderId = m.senderId();
+        Long receiver = participants.require(roomId, senderId).otherOf(senderId);
+
+        if (!clustered) {
+            // 미읽음 알림: 메모리 카운터 증분(카운트 쿼리 없음), 보낸 사람은 자기 메시지까지 읽음
+            unreadNotifier.onRead(roomId, senderId, m.seq());
+            if (suppressOfflineNotify && !presence.isReceivingNotifications(receiver)) {
+                // 알림 토픽 구독자가 없으면 발행 생략, 카운터 상태는 재접속 시 DB 기준으로 다시 채움
+                unreadNotifier.forget(receiver);
+                return;
+            }
+            unreadNotifier.onMessage(roomId, senderId, receiver, m.seq());
+            return;
+        }
+
+        // 여러 노드: 수신자가 이 노드에서 알림을 구독 중일 때만(relay 는 외부 브로커가 전달하므로 항상) 발행
+        if (anyNode || presence.isReceivingNotifications(receiver)) {
+            unreadNotifier.onMessage(roomId, senderId, receiver, m.seq());
+        }
+        unreadNotifier.forget(receiver);
+        unreadNotifier.forget(senderId);
+    }
+}
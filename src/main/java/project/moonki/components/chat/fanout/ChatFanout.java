@@ -0,0 +1,31 @@
+package project.moonki.components.chat.fanout;
+
+import project.moonki.domain.chat.ChatMessage;
+import project.moonki.dto.chat.ChatMessageDto;
+
+import java.util.List;
+
+/**
+ * 커밋된 채팅 메시지를 모든 노드의 구독자에게 전달하는 fanout 계층(chat.fanout.mode 로 선택).
+ *
+ * - local    : 단일 노드, 인메모리 브로커로 바로 발행(기본값)
+ * - outbox   : 메시지 저장 트랜잭션에서 DB 아웃박스 테이블에 함께 기록하고 각 노드가 주기적으로 읽어 로컬 구독자에게 발행
+ * - relay    : 외부 STOMP 브로커(RabbitMQ/ActiveMQ 등) relay 로 발행, 구독은 외부 브로커가 관리
+ * - embedded : 같은 JVM 안의 여러 애플리케이션 컨텍스트(노드)끼리 전달하는 테스트용 대체 구현
+ */
+public interface ChatFanout {
+
+    /**
+     * 메시지 저장 트랜잭션 안에서 호출(메시지와 함께 커밋/롤백되어야 하는 기록, 기본은 없음)
+     *
+     * @param saved 이번 트랜잭션에서 저장한 메시지
+     */
+    default void recordInTransaction(List<ChatMessage> saved) {
+    }
+
+    /** 커밋 후 메시지 발행(방 토픽 + 수신자 미읽음 알림) */
+    void publish(ChatMessageDto message);
+
+    /** 설정된 모드 이름(지표 태그) */
+    String mode();
+}
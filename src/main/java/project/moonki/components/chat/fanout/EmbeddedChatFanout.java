@@ -0,0 +1,72 @@
+package project.moonki.components.chat.fanout;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import project.moonki.dto.chat.ChatMessageDto;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 프로세스 내 노드 간 fanout(chat.fanout.mode=embedded, 테스트용 대체 구현).
+ *
+ * 같은 JVM 에서 띄운 여러 애플리케이션 컨텍스트(포트만 다른 노드)가 static 노드 목록을 공유한다.
+ * 발행 노드는 로컬 구독자에게 바로 발행하고, 다른 노드에는 각 노드의 단일 스레드 수신 큐로 넘긴다(방 안의 순서 유지).
+ * 외부 브로커/DB 없이 한 머신에서 3노드 구성을 시험하고 노드 간 지연 지표를 확인하는 용도다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.fanout.mode", havingValue = "embedded")
+public class EmbeddedChatFanout implements ChatFanout {
+
+    // 같은 JVM 의 모든 노드
+    private static final Set<EmbeddedChatFanout> NODES = ConcurrentHashMap.newKeySet();
+
+    private final ChatDelivery delivery;
+    private ExecutorService inbox;
+
+    public EmbeddedChatFanout(ChatDelivery delivery) {
+        this.delivery = delivery;
+    }
+
+    @PostConstruct
+    public void join() {
+        inbox = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("chat-embedded-" + delivery.nodeId() + "-"));
+        NODES.add(this);
+        log.info("[EmbeddedChatFanout] node {} joined ({} nodes)", delivery.nodeId(), NODES.size());
+    }
+
+    @Override
+    public void publish(ChatMessageDto m) {
+        delivery.deliver(m);
+        long publishedAt = System.currentTimeMillis();
+        for (EmbeddedChatFanout node : NODES) {
+            if (node == this) continue;
+            try {
+                node.inbox.execute(() -> node.delivery.deliverRemote(m, mode(), System.currentTimeMillis() - publishedAt));
+            } catch (RejectedExecutionException e) {
+                log.warn("[EmbeddedChatFanout] node {} is shutting down, skipped", node.delivery.nodeId());
+            }
+        }
+    }
+
+    @Override
+    public String mode() {
+        return "embedded";
+    }
+
+    @PreDestroy
+    public void leave() throws InterruptedException {
+        NODES.remove(this);
+        inbox.shutdown();
+        inbox.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,27 @@
+package project.moonki.components.chat.fanout;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import project.moonki.dto.chat.ChatMessageDto;
+
+/**
+ * 단일 노드 fanout(기본값): 인메모리 브로커로 바로 발행.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.fanout.mode", havingValue = "local", matchIfMissing = true)
+public class LocalChatFanout implements ChatFanout {
+
+    private final ChatDelivery delivery;
+
+    @Override
+    public void publish(ChatMessageDto message) {
+        delivery.deliver(message);
+    }
+
+    @Override
+    public String mode() {
+        return "local";
+    }
+}
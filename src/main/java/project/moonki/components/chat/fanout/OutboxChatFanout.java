@@ -0,0 +1,158 @@
+package project.moonki.components.chat.fanout;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import project.moonki.components.user.UserSummaryCache;
+import project.moonki.domain.chat.ChatFanoutOutbox;
+import project.moonki.domain.chat.ChatMessage;
+import project.moonki.dto.chat.ChatMessageDto;
+import project.moonki.dto.chat.ChatUserItemDto;
+import project.moonki.repository.chat.ChatFanoutOutboxRepository;
+import project.moonki.utils.LogUtil;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DB 아웃박스 폴링 fanout(chat.fanout.mode=outbox).
+ *
+ * - 기록: 메시지 저장 트랜잭션 안에서 메시지마다 아웃박스 행을 함께 저장한다(커밋되면 반드시 남고, 롤백되면 같이 사라짐).
+ * - 발행: 커밋 후 로컬 구독자에게 바로 발행한다.
+ * - 수신: 전용 폴링 스레드가 poll-ms 마다(공용 appTaskScheduler 와 분리) 다른 노드가 기록한 행을 published_at(DB 시각) 기준으로 읽어 로컬 구독자에게 발행한다.
+ *   published_at 은 INSERT 시점이라 커밋이 늦은 행이 워터마크 뒤에 보일 수 있으므로,
+ *   워터마크는 DB 현재 시각에서 lookback-ms 만큼 겹쳐 두고 이미 전달한 ID 는 건너뛴다(앱 서버 시계는 쓰지 않음).
+ *   lookback-ms 는 메시지 저장 트랜잭션의 최대 길이보다 길어야 한다.
+ * - 보존 기간(retention-ms)이 지난 행은 주기적으로 삭제한다.
+ * 별도 인프라 없이 여러 노드를 묶을 수 있지만 지연은 폴링 주기만큼 늘어난다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.fanout.mode", havingValue = "outbox")
+public class OutboxChatFanout implements ChatFanout {
+
+    private final ChatDelivery delivery;
+    private final ChatFanoutOutboxRepository outboxRepository;
+    private final UserSummaryCache users;
+    private final Duration lookback;
+    private final Duration retention;
+    private final int batchSize;
+    private final long pollMs;
+
+    // 이미 전달한 아웃박스 ID(시간 창 재조회 중복 제거)
+    private final Cache<Long, Boolean> delivered;
+    // 다음 폴링의 조회 하한(DB 시각), 폴링 스레드에서만 갱신. 첫 폴링 전에는 null
+    private volatile LocalDateTime cursor;
+    // 폴링 전용 스레드(배치 작업이 공용 스케줄러를 점유해도 노드 간 지연이 늘지 않도록)
+    private ScheduledExecutorService poller;
+
+    public OutboxChatFanout(
+            ChatDelivery delivery,
+            ChatFanoutOutboxRepository outboxRepository,
+            UserSummaryCache users,
+            @Value("${chat.fanout.outbox.lookback-ms:2000}") long lookbackMs,
+            @Value("${chat.fanout.outbox.retention-ms:600000}") long retentionMs,
+            @Value("${chat.fanout.outbox.batch-size:500}") int batchSize,
+            @Value("${chat.fanout.outbox.poll-ms:100}") long pollMs
+    ) {
+        this.delivery = delivery;
+        this.outboxRepository = outboxRepository;
+        this.users = users;
+        this.lookback = Duration.ofMillis(lookbackMs);
+        this.retention = Duration.ofMillis(retentionMs);
+        this.batchSize = batchSize;
+        this.pollMs = pollMs;
+        this.delivered = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(lookbackMs * 3))
+                .build();
+    }
+
+    @PostConstruct
+    public void start() {
+        poller = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("chat-outbox-poller-"));
+        poller.scheduleWithFixedDelay(this::poll, pollMs, pollMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        poller.shutdown();
+        poller.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /** 메시지 저장 트랜잭션 안에서만 호출(트랜잭션이 없으면 실패) */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordInTransaction(List<ChatMessage> saved) {
+        outboxRepository.saveAll(saved.stream()
+                .map(m -> ChatFanoutOutbox.builder()
+                        .nodeId(delivery.nodeId())
+                        .messageId(m.getId())
+                        .roomId(m.getRoomId())
+                        .senderId(m.getSenderId())
+                        .content(m.getContent())
+                        .messageCreatedAt(m.getCreatedAt())
+                        .seq(m.getSeq())
+                        .build())
+                .toList());
+    }
+
+    @Override
+    public void publish(ChatMessageDto m) {
+        delivery.deliver(m);
+    }
+
+    @Override
+    public String mode() {
+        return "outbox";
+    }
+
+    /** 다른 노드가 기록한 행을 읽어 로컬 구독자에게 발행(폴링 스레드 전용) */
+    void poll() {
+        try {
+            LocalDateTime dbNow = outboxRepository.dbNow();
+            if (cursor == null) cursor = dbNow; // 기동 전 기록분은 건너뜀(클라이언트는 /sync 로 복구)
+
+            List<ChatFanoutOutbox> rows = outboxRepository.findPublishedAfter(
+                    cursor, delivery.nodeId(), PageRequest.of(0, batchSize));
+            for (ChatFanoutOutbox o : rows) {
+                if (delivered.asMap().putIfAbsent(o.getId(), Boolean.TRUE) != null) continue;
+                String nickname = users.get(o.getSenderId()).map(ChatUserItemDto::nickname).orElse("unknown");
+                delivery.deliverRemote(new ChatMessageDto(
+                        o.getMessageId(), o.getRoomId(), o.getSenderId(), nickname,
+                        o.getContent(), o.getMessageCreatedAt(), o.getSeq()
+                ), mode(), Duration.between(o.getPublishedAt(), dbNow).toMillis());
+            }
+            if (rows.size() < batchSize) {
+                cursor = dbNow.minus(lookback);
+            } else {
+                // 한 번에 다 못 읽었으면 마지막 행 시각 직전부터 이어서 읽음(같은 ms 의 나머지는 중복 제거로 건너뜀)
+                LocalDateTime last = rows.get(rows.size() - 1).getPublishedAt().minusNanos(1_000_000L);
+                if (last.isAfter(cursor)) cursor = last;
+            }
+        } catch (Exception e) {
+            LogUtil.error(log, OutboxChatFanout.class, e);
+        }
+    }
+
+    /** 보존 기간이 지난 행 삭제(DB 시각 기준) */
+    @Transactional
+    @Scheduled(fixedDelayString = "${chat.fanout.outbox.cleanup-ms:60000}")
+    public void cleanup() {
+        int deleted = outboxRepository.deletePublishedBefore(outboxRepository.dbNow().minus(retention));
+        if (deleted > 0) log.debug("[OutboxChatFanout] deleted {} outbox rows", deleted);
+    }
+}
@@ -0,0 +1,73 @@
+package project.moonki.components.chat.fanout;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import project.moonki.components.chat.RecentMessageCache;
+import project.moonki.dto.chat.ChatMessageDto;
+
+import java.util.Map;
+
+/**
+ * 외부 STOMP 브로커 relay fanout(chat.fanout.mode=relay).
+ *
+ * WebSocketConfig 가 SimpleBroker 대신 broker relay 를 켜므로 구독과 전달은 외부 브로커가 맡는다.
+ * 방 토픽에는 발행 노드/시각을 헤더로 붙이고, clientOutboundChannel 에서 다른 노드가 발행한 프레임의 지연을 기록한다
+ * (세션별 전달 단위로 집계됨). 같은 프레임을 보면 이 노드의 최근 메시지 캐시에서 해당 방 구간을 비운다
+ * (구독자가 없는 노드는 프레임을 받지 못하므로 ChatService 가 조회 시 DB 의 마지막 seq 로 한 번 더 확인한다).
+ * clientOutboundChannel 생성 중에 인터셉터로 등록되므로 ChatDelivery(-> SimpMessagingTemplate)는 지연 주입한다.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.fanout.mode", havingValue = "relay")
+public class RelayChatFanout implements ChatFanout, ChannelInterceptor {
+
+    public static final String NODE_HEADER = "fanout-node";
+    public static final String PUBLISHED_AT_HEADER = "fanout-published-at";
+    private static final String ROOM_TOPIC_PREFIX = "/topic/chat.room.";
+
+    private final ChatDelivery delivery;
+    private final RecentMessageCache recentMessageCache;
+
+    public RelayChatFanout(@Lazy ChatDelivery delivery, RecentMessageCache recentMessageCache) {
+        this.delivery = delivery;
+        this.recentMessageCache = recentMessageCache;
+    }
+
+    @Override
+    public void publish(ChatMessageDto m) {
+        delivery.deliverThroughRelay(m, Map.of(
+                NODE_HEADER, delivery.nodeId(),
+                PUBLISHED_AT_HEADER, String.valueOf(System.currentTimeMillis())
+        ));
+    }
+
+    @Override
+    public String mode() {
+        return "relay";
+    }
+
+    /** 다른 노드가 발행한 MESSAGE 프레임의 전달 지연 기록 + 방 캐시 무효화 */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor h = SimpMessageHeaderAccessor.wrap(message);
+        if (h.getMessageType() != SimpMessageType.MESSAGE) return message;
+        String node = h.getFirstNativeHeader(NODE_HEADER);
+        String publishedAt = h.getFirstNativeHeader(PUBLISHED_AT_HEADER);
+        if (node == null || publishedAt == null || node.equals(delivery.nodeId())) return message;
+        try {
+            delivery.recordLatency(mode(), System.currentTimeMillis() - Long.parseLong(publishedAt));
+            String destination = h.getDestination();
+            if (destination != null && destination.startsWith(ROOM_TOPIC_PREFIX)) {
+                recentMessageCache.evict(Long.parseLong(destination.substring(ROOM_TOPIC_PREFIX.length())));
+            }
+        } catch (NumberFormatException ignored) {
+            // 형식이 다르면 기록하지 않음
+        }
+        return message;
+    }
+}
@@ -0,0 +1,102 @@
+package project.moonki.components.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import project.moonki.dto.login.MUserDetailsDto;
+import project.moonki.repository.user.MuserRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 인증 주체 캐시(사용자 PK -> 현재 {@link MUserDetailsDto}) - JWT 필터/WebSocket handshake 용.
+ *
+ * - 토큰의 주체는 캐시된 현재 값과 토큰 버전이 같을 때만 인정한다(비밀번호 변경/탈퇴 후 이전 토큰 거부).
+ * - 사용자 정보가 바뀌면 {@link UserChangedEvent} 로 즉시 + 커밋 후 한 번 더 무효화한다.
+ *   이벤트는 변경을 처리한 노드 안에서만 전달되므로, 다른 노드는 expire-after-write-seconds(기본 30초)가 지나야 새 토큰 버전을 본다.
+ *   이 시간이 여러 노드 구성에서 이전 토큰이 계속 통과할 수 있는 최대 창이다(줄이면 DB 조회가 늘어남).
+ * - 적중/미스는 user.principal.cache{result} 지표로 집계한다.
+ */
+@Component
+public class PrincipalCache {
+
+    private final MuserRepository muserRepository;
+    private final Cache<Long, MUserDetailsDto> cache;
+    private final Counter hits;
+    private final Counter misses;
+
+    public PrincipalCache(
+            MuserRepository muserRepository,
+            MeterRegistry meterRegistry,
+            @Value("${user.principal-cache.max-size:50000}") long maxSize,
+            @Value("${user.principal-cache.expire-after-write-seconds:30}") long expireSeconds
+    ) {
+        this.muserRepository = muserRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(expireSeconds))
+                .build();
+        this.hits = Counter.builder("user.principal.cache").tag("result", "hit")
+                .description("인증 주체 캐시 적중").register(meterRegistry);
+        this.misses = Counter.builder("user.principal.cache").tag("result", "miss")
+                .description("인증 주체 캐시 미스(DB 조회)").register(meterRegistry);
+    }
+
+    /** 현재 인증 주체(miss 시 DB 조회, 없는 사용자는 적재하지 않음) */
+    public Optional<MUserDetailsDto> get(Long userPk) {
+        if (userPk == null) return Optional.empty();
+        MUserDetailsDto cached = cache.getIfPresent(userPk);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
+        return Optional.ofNullable(cache.get(userPk,
+                id -> muserRepository.findById(id).map(MUserDetailsDto::new).orElse(null)));
+    }
+
+    /**
+     * 토큰 claims 로 만든 주체 검증
+     *
+     * @param fromToken 토큰의 uid/ver
+     * @return 사용자가 있고 토큰 버전이 현재와 같으면 현재 주체, 아니면 empty
+     */
+    public Optional<MUserDetailsDto> verify(MUserDetailsDto fromToken) {
+        return get(fromToken.getId())
+                .filter(current -> current.getTokenVersion() == fromToken.getTokenVersion());
+    }
+
+    /** 이전 형식 토큰(uid 없음) - 로그인 아이디로 조회 후 적재 */
+    public Optional<MUserDetailsDto> findByUserId(String userId) {
+        misses.increment();
+        Optional<MUserDetailsDto> found = muserRepository.findByUserId(userId).map(MUserDetailsDto::new);
+        found.ifPresent(p -> cache.put(p.getId(), p));
+        return found;
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.userId());
+    }
+
+    /** 무효화(트랜잭션 중이면 커밋 후 한 번 더 - 커밋 전 재적재된 이전 값 제거) */
+    public void evict(Long userPk) {
+        if (userPk == null) return;
+        cache.invalidate(userPk);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userPk);
+                }
+            });
+        }
+    }
+}
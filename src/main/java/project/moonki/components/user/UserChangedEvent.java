@@ -0,0 +1,7 @@
+package project.moonki.components.user;
+
+/**
+ * 사용자 정보 변경 이벤트(프로필/아이디/비밀번호/탈퇴/카카오 동기화).
+ * 사용자 관련 캐시({@link UserSummaryCache}, {@link PrincipalCache})가 받아 무효화한다.
+ */
+public record UserChangedEvent(Long userId) {}
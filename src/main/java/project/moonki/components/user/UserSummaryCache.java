@@ -0,0 +1,79 @@
+package project.moonki.components.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import project.moonki.dto.chat.ChatUserItemDto;
+import project.moonki.repository.user.MuserRepository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 사용자 요약(닉네임/이름/이메일/프로필 이미지 ID) 캐시 - 채팅 렌더링용.
+ * miss 는 요약 컬럼만 조회하는 단일 IN 쿼리로 일괄 적재한다.
+ * 사용자 정보가 바뀌면({@link UserChangedEvent}) {@link #evict(Long)}로 무효화한다.
+ */
+@Component
+public class UserSummaryCache {
+
+    private final MuserRepository muserRepository;
+    private final Cache<Long, ChatUserItemDto> cache;
+
+    public UserSummaryCache(
+            MuserRepository muserRepository,
+            @Value("${user.summary-cache.max-size:50000}") long maxSize,
+            @Value("${user.summary-cache.expire-after-write-seconds:3600}") long expireSeconds
+    ) {
+        this.muserRepository = muserRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(expireSeconds))
+                .build();
+    }
+
+    public Optional<ChatUserItemDto> get(Long userId) {
+        if (userId == null) return Optional.empty();
+        return Optional.ofNullable(getAll(List.of(userId)).get(userId));
+    }
+
+    /**
+     * 일괄 조회(없는 사용자는 결과에서 제외)
+     *
+     * @param userIds
+     * @return userId -> 요약
+     */
+    public Map<Long, ChatUserItemDto> getAll(Collection<Long> userIds) {
+        if (userIds.isEmpty()) return Map.of();
+        return cache.getAll(userIds, missing -> muserRepository.findSummariesByIdIn(List.copyOf(missing)).stream()
+                .collect(Collectors.toMap(ChatUserItemDto::id, Function.identity())));
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.userId());
+    }
+
+    /** 무효화(트랜잭션 중이면 커밋 후 한 번 더 - 커밋 전 재적재된 이전 값 제거) */
+    public void evict(Long userId) {
+        if (userId == null) return;
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+}
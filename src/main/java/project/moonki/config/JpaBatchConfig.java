@@ -0,0 +1,26 @@
+package project.moonki.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate JDBC 배치 설정(채팅 메시지 그룹 커밋용).
+ * application.yml 에 같은 키가 있으면 그 값을 우선한다.
+ * MySQL 에서 multi-row INSERT 로 재작성하려면 JDBC URL 에 rewriteBatchedStatements=true 를 추가한다.
+ */
+@Configuration
+public class JpaBatchConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer(
+            @Value("${chat.batch.jdbc-batch-size:50}") int batchSize
+    ) {
+        return props -> {
+            props.putIfAbsent("hibernate.jdbc.batch_size", batchSize);
+            props.putIfAbsent("hibernate.order_inserts", true);
+            props.putIfAbsent("hibernate.order_updates", true);
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package project.moonki.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * 배치성 작업(@Scheduled) 전용 스케줄러.
+ * WebSocket heartbeat 스케줄러(wsHeartbeatScheduler)와 스레드를 공유하지 않도록 분리한다.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    @Bean(name = "appTaskScheduler")
+    public ThreadPoolTaskScheduler appTaskScheduler() {
+        ThreadPoolTaskScheduler ts = new ThreadPoolTaskScheduler();
+        ts.setPoolSize(2);
+        ts.setThreadNamePrefix("app-scheduler-");
+        ts.initialize();
+        return ts;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.setTaskScheduler(appTaskScheduler());
+    }
+}
@@ -38,7 +38,8 @@ public class SecurityConfig {
                                 "/api/auth/**",
                                 "/auth/**",
                                 "/api/chat/**",
-                                "/ws/**"
+                                "/ws/**",
+                                "/ws-native/**"
                         ).permitAll()
                         .anyRequest().authenticated()
                 )
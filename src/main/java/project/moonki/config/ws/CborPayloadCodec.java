@@ -0,0 +1,162 @@
+package project.moonki.config.ws;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+import org.springframework.web.socket.sockjs.transport.session.AbstractSockJsSession;
+import project.moonki.utils.LogUtil;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * STOMP payload CBOR 코덱(선택).
+ *
+ * - 수신: SEND 프레임의 content-type 이 application/cbor 이면 CBOR 변환기로 역직렬화한다(엄격 매칭, 기본은 JSON).
+ * - 송신: CONNECT 에 accept-payload-codec:cbor 헤더를 보낸 세션에는 JSON payload 를 CBOR 로 바꿔 보낸다.
+ *   STOMP 는 application/octet-stream 일 때만 binary 프레임으로 보내므로 content-type 은 octet-stream,
+ *   실제 형식은 payload-codec:cbor 헤더로 알린다. 같은 payload 는 한 번만 변환한다(구독자 간 공유).
+ * - SockJS 는 text 프레임만 지원하므로 native WebSocket 세션에만 적용하고, SockJS 세션은 JSON 을 유지한다.
+ */
+@Slf4j
+@Component
+public class CborPayloadCodec implements ChannelInterceptor, WebSocketHandlerDecoratorFactory {
+
+    public static final MimeType APPLICATION_CBOR = new MimeType("application", "cbor");
+    private static final String ACCEPT_HEADER = "accept-payload-codec";
+    private static final String CODEC_HEADER = "payload-codec";
+
+    private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+
+    private final Set<String> nativeSessions = ConcurrentHashMap.newKeySet();
+    private final Set<String> cborSessions = ConcurrentHashMap.newKeySet();
+
+    // 같은 payload 배열(구독자별 메시지가 공유) -> CBOR 변환 결과, 배열 동일성 기준
+    private final Cache<byte[], byte[]> encoded = Caffeine.newBuilder().weakKeys().maximumSize(1024).build();
+
+    private final DistributionSummary jsonBytes;
+    private final DistributionSummary cborBytes;
+
+    public CborPayloadCodec(MeterRegistry meterRegistry) {
+        this.jsonBytes = DistributionSummary.builder("chat.ws.codec.payload.bytes").tag("codec", "json")
+                .description("CBOR 로 변환한 메시지의 원본 JSON 크기").register(meterRegistry);
+        this.cborBytes = DistributionSummary.builder("chat.ws.codec.payload.bytes").tag("codec", "cbor")
+                .description("CBOR 변환 후 크기").register(meterRegistry);
+    }
+
+    /** application/cbor 전용 변환기(content-type 이 없으면 사용하지 않음) */
+    public MessageConverter converter() {
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter(APPLICATION_CBOR);
+        converter.setObjectMapper(cborMapper);
+        converter.setStrictContentTypeMatch(true);
+        return converter;
+    }
+
+    /** 인바운드 인터셉터: CONNECT 헤더로 송신 코덱 선택 */
+    public ChannelInterceptor inbound() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                StompHeaderAccessor h = StompHeaderAccessor.wrap(message);
+                String sessionId = h.getSessionId();
+                if (sessionId == null) return message;
+                if (h.getMessageType() == SimpMessageType.CONNECT) {
+                    List<String> accept = h.getNativeHeader(ACCEPT_HEADER);
+                    if (accept != null && accept.contains("cbor") && nativeSessions.contains(sessionId)) {
+                        cborSessions.add(sessionId);
+                    }
+                } else if (h.getMessageType() == SimpMessageType.DISCONNECT) {
+                    cborSessions.remove(sessionId);
+                }
+                return message;
+            }
+        };
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                // 바깥 데코레이터가 세션을 감쌀 수 있으므로 실제 세션으로 판단
+                if (!(WebSocketSessionDecorator.unwrap(session) instanceof AbstractSockJsSession)) {
+                    nativeSessions.add(session.getId());
+                }
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                nativeSessions.remove(session.getId());
+                cborSessions.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /** 아웃바운드: CBOR 세션으로 가는 JSON MESSAGE 프레임 변환 */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor h = SimpMessageHeaderAccessor.wrap(message);
+        if (h.getMessageType() != SimpMessageType.MESSAGE || h.getSessionId() == null
+                || !cborSessions.contains(h.getSessionId())) {
+            return message;
+        }
+        MimeType contentType = h.getContentType();
+        if (contentType == null || !MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(contentType)
+                || !(message.getPayload() instanceof byte[] json)) {
+            return message;
+        }
+
+        try {
+            byte[] cbor = encoded.get(json, this::toCbor);
+            h.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+            h.setNativeHeader(CODEC_HEADER, "cbor");
+            return MessageBuilder.createMessage(cbor, h.getMessageHeaders());
+        } catch (Exception e) {
+            LogUtil.error(log, CborPayloadCodec.class, e);
+            return message; // 변환 실패 시 JSON 유지
+        }
+    }
+
+    /**
+     * 브로커가 직렬화한 JSON payload 를 CBOR 로 변환(트리 경유).
+     * DTO 를 CBOR 로 바로 쓰는 것보다 비싸지만(JSON 파싱이 더해짐) 같은 payload 당 한 번만 실행되고 구독자 수와는 무관하다.
+     */
+    byte[] toCbor(byte[] json) {
+        try {
+            byte[] cbor = cborMapper.writeValueAsBytes(jsonMapper.readTree(json));
+            jsonBytes.record(json.length);
+            cborBytes.record(cbor.length);
+            return cbor;
+        } catch (IOException e) {
+            throw new IllegalStateException("CBOR 변환 실패", e);
+        }
+    }
+}
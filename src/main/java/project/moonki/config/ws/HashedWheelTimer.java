@@ -0,0 +1,194 @@
+package project.moonki.config.ws;
+
+import lombok.extern.slf4j.Slf4j;
+import project.moonki.utils.LogUtil;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 해시 휠 타이머.
+ *
+ * - 등록/취소는 O(1): 등록은 대기 큐에 넣기만 하고, 취소는 상태 플래그만 바꾼다(버킷 처리 시 제거).
+ * - 단일 워커 스레드가 tick 마다 버킷 하나를 처리하고, 만료된 작업은 버킷 단위로 묶어 실행기에 한 번 넘긴다.
+ * - 정밀도는 tick 단위(기본 500ms)이므로 heartbeat/유휴 타임아웃 같은 대량의 느슨한 타이머 용도로 사용한다.
+ */
+@Slf4j
+public class HashedWheelTimer {
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final long tickNanos;
+    private final List<Entry>[] wheel;
+    private final int mask;
+    private final Executor executor;
+    private final Queue<Entry> pendingAdds = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Thread worker;
+    private final long startNanos;
+    private volatile boolean running = true;
+    private long tick;
+
+    /** 등록된 작업 핸들 */
+    public interface Timeout {
+        boolean cancel();
+
+        boolean isCancelled();
+
+        boolean isExpired();
+
+        long remainingNanos();
+    }
+
+    private final class Entry implements Timeout {
+        final Runnable task;
+        final long deadline;
+        final AtomicInteger state = new AtomicInteger(PENDING);
+        long remainingRounds;
+
+        Entry(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (state.compareAndSet(PENDING, CANCELLED)) {
+                pendingCount.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        @Override
+        public long remainingNanos() {
+            return deadline - System.nanoTime();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public HashedWheelTimer(String name, long tickMs, int wheelSize, Executor executor) {
+        int size = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1; // 2의 거듭제곱
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickMs));
+        this.wheel = new List[size];
+        for (int i = 0; i < size; i++) wheel[i] = new ArrayList<>();
+        this.mask = size - 1;
+        this.executor = executor;
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * 작업 등록
+     *
+     * @param task
+     * @param delay
+     * @param unit
+     * @return 취소 핸들
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        Entry e = new Entry(task, System.nanoTime() + unit.toNanos(Math.max(0, delay)));
+        pendingCount.incrementAndGet();
+        pendingAdds.add(e);
+        return e;
+    }
+
+    /** 만료/취소되지 않은 작업 수 */
+    public int pending() {
+        return pendingCount.get();
+    }
+
+    public void stop() {
+        running = false;
+        worker.interrupt();
+        if (executor instanceof ExecutorService es) es.shutdown();
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = startNanos + (tick + 1) * tickNanos;
+            long sleep = deadline - System.nanoTime();
+            if (sleep > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleep);
+                } catch (InterruptedException e) {
+                    if (!running) return;
+                    continue;
+                }
+            }
+            try {
+                transferPending();
+                expire(wheel[(int) (tick & mask)]);
+            } catch (Exception e) {
+                LogUtil.error(log, HashedWheelTimer.class, e);
+            }
+            tick++;
+        }
+    }
+
+    private void transferPending() {
+        Entry e;
+        while ((e = pendingAdds.poll()) != null) {
+            if (e.isCancelled()) continue;
+            // 버킷 t 는 start + (t + 1) * tick 시점에 처리되므로 deadline 이후 첫 처리 tick 에 배치
+            long ticks = (e.deadline - startNanos + tickNanos - 1) / tickNanos - 1;
+            long target = Math.max(ticks, tick); // 이미 지난 작업은 현재 버킷
+            e.remainingRounds = (target - tick) / wheel.length;
+            wheel[(int) (target & mask)].add(e);
+        }
+    }
+
+    private void expire(List<Entry> bucket) {
+        List<Runnable> due = null;
+        Iterator<Entry> it = bucket.iterator();
+        while (it.hasNext()) {
+            Entry e = it.next();
+            if (e.isCancelled()) {
+                it.remove();
+            } else if (e.remainingRounds <= 0) {
+                it.remove();
+                if (e.state.compareAndSet(PENDING, EXPIRED)) {
+                    pendingCount.decrementAndGet();
+                    if (due == null) due = new ArrayList<>();
+                    due.add(e.task);
+                }
+            } else {
+                e.remainingRounds--;
+            }
+        }
+        if (due == null) return;
+
+        // 같은 버킷의 만료 작업은 한 번에 실행
+        List<Runnable> batch = due;
+        executor.execute(() -> {
+            for (Runnable r : batch) {
+                try {
+                    r.run();
+                } catch (Exception ex) {
+                    LogUtil.error(log, HashedWheelTimer.class, ex);
+                }
+            }
+        });
+    }
+}
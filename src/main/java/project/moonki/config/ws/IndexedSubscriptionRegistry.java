@@ -0,0 +1,139 @@
+package project.moonki.config.ws;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.broker.AbstractSubscriptionRegistry;
+import org.springframework.messaging.simp.broker.DefaultSubscriptionRegistry;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SimpleBroker 구독 저장소 - 정확한 목적지 해시 인덱스.
+ *
+ * - 패턴이 없는 목적지(/topic/notify.{id}, /topic/chat.room.{id})는 목적지 -> 구독자 배열(copy-on-write) 맵으로 보관한다.
+ *   발행 시 조회 비용은 해당 목적지 구독자 수에만 비례하고, 전체 접속자/구독 수와 무관하다.
+ * - 와일드카드 패턴 구독은 기본 구독 저장소(DefaultSubscriptionRegistry)에 위임하고, 패턴 구독이 없으면 조회하지 않는다.
+ * - selector 헤더는 지원하지 않는다.
+ */
+public class IndexedSubscriptionRegistry extends AbstractSubscriptionRegistry {
+
+    private static final Subscriber[] EMPTY = new Subscriber[0];
+
+    private record Subscriber(String sessionId, String subscriptionId) {}
+
+    // 목적지 -> 구독자(변경 시 배열 교체, 조회는 잠금 없이)
+    private final ConcurrentHashMap<String, Subscriber[]> byDestination = new ConcurrentHashMap<>();
+
+    // sessionId -> (subscriptionId -> 목적지), 세션 종료 시 정리용
+    private final ConcurrentHashMap<String, Map<String, String>> bySession = new ConcurrentHashMap<>();
+
+    private final DefaultSubscriptionRegistry patternRegistry = new DefaultSubscriptionRegistry();
+    private final AtomicInteger patternCount = new AtomicInteger();
+
+    @Override
+    protected void addSubscriptionInternal(String sessionId, String subscriptionId, String destination, Message<?> message) {
+        if (isPattern(destination)) {
+            patternRegistry.registerSubscription(message);
+            patternCount.incrementAndGet();
+            bySession.computeIfAbsent(sessionId, k -> new ConcurrentHashMap<>()).put(subscriptionId, destination);
+            return;
+        }
+
+        String previous = bySession.computeIfAbsent(sessionId, k -> new ConcurrentHashMap<>()).put(subscriptionId, destination);
+        if (previous != null && !isPattern(previous)) {
+            remove(previous, sessionId, subscriptionId);
+        }
+        Subscriber sub = new Subscriber(sessionId, subscriptionId);
+        byDestination.compute(destination, (k, arr) -> {
+            if (arr == null) return new Subscriber[]{sub};
+            Subscriber[] next = Arrays.copyOf(arr, arr.length + 1);
+            next[arr.length] = sub;
+            return next;
+        });
+    }
+
+    @Override
+    protected void removeSubscriptionInternal(String sessionId, String subscriptionId, Message<?> message) {
+        Map<String, String> subs = bySession.get(sessionId);
+        String destination = (subs != null) ? subs.remove(subscriptionId) : null;
+        if (destination == null) return;
+
+        if (isPattern(destination)) {
+            patternRegistry.unregisterSubscription(message);
+            patternCount.decrementAndGet();
+        } else {
+            remove(destination, sessionId, subscriptionId);
+        }
+    }
+
+    @Override
+    public void unregisterAllSubscriptions(String sessionId) {
+        Map<String, String> subs = bySession.remove(sessionId);
+        if (subs == null) return;
+
+        boolean hadPattern = false;
+        for (Map.Entry<String, String> e : subs.entrySet()) {
+            if (isPattern(e.getValue())) {
+                hadPattern = true;
+                patternCount.decrementAndGet();
+            } else {
+                remove(e.getValue(), sessionId, e.getKey());
+            }
+        }
+        if (hadPattern) {
+            patternRegistry.unregisterAllSubscriptions(sessionId);
+        }
+    }
+
+    @Override
+    protected MultiValueMap<String, String> findSubscriptionsInternal(String destination, Message<?> message) {
+        Subscriber[] subs = byDestination.getOrDefault(destination, EMPTY);
+        MultiValueMap<String, String> result = new LinkedMultiValueMap<>(subs.length);
+        for (Subscriber s : subs) {
+            result.add(s.sessionId(), s.subscriptionId());
+        }
+        if (patternCount.get() > 0) {
+            patternRegistry.findSubscriptions(message).forEach((session, ids) -> ids.forEach(id -> result.add(session, id)));
+        }
+        return result;
+    }
+
+    /** 전체 구독 수(모니터링용) */
+    public int getSubscriptionCount() {
+        int n = 0;
+        for (Subscriber[] subs : byDestination.values()) n += subs.length;
+        return n + patternCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "IndexedSubscriptionRegistry[destinations=" + byDestination.size()
+                + ", sessions=" + bySession.size() + ", patterns=" + patternCount.get() + "]";
+    }
+
+    private void remove(String destination, String sessionId, String subscriptionId) {
+        byDestination.computeIfPresent(destination, (k, arr) -> {
+            int idx = -1;
+            for (int i = 0; i < arr.length; i++) {
+                if (arr[i].sessionId().equals(sessionId) && arr[i].subscriptionId().equals(subscriptionId)) {
+                    idx = i;
+                    break;
+                }
+            }
+            if (idx < 0) return arr;
+            if (arr.length == 1) return null;
+            Subscriber[] next = new Subscriber[arr.length - 1];
+            System.arraycopy(arr, 0, next, 0, idx);
+            System.arraycopy(arr, idx + 1, next, idx, arr.length - idx - 1);
+            return next;
+        });
+    }
+
+    private static boolean isPattern(String destination) {
+        return destination.indexOf('*') >= 0 || destination.indexOf('?') >= 0 || destination.indexOf('{') >= 0;
+    }
+}
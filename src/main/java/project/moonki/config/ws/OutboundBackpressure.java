@@ -0,0 +1,283 @@
+package project.moonki.config.ws;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.*;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+import project.moonki.utils.LogUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WebSocket 송신 지연(slow consumer) 감지 및 backpressure 정책.
+ *
+ * 세션별로 clientOutboundChannel 을 통과했지만 아직 전송되지 않은 MESSAGE 프레임 바이트와, 진행 중인 전송의 경과 시간을 추적한다.
+ * 대기 바이트는 MESSAGE 프레임이 실제로 전송될 때 줄이며, CBOR 세션({@link CborPayloadCodec})의 binary 프레임도 같이 센다.
+ * 대기 바이트가 soft-limit-bytes 를 넘거나 전송 하나가 slow-send-ms 이상 걸리면 지연 세션으로 보고 정책을 적용한다.
+ *
+ * - DISCONNECT       : 세션 종료(SESSION_NOT_RELIABLE)
+ * - DROP_OLDEST      : 보류 큐에 쌓고, max-held 를 넘으면 가장 오래된 것부터 버림(채팅 메시지는 seq 공백으로 클라이언트가 /sync 로 복구)
+ * - DROP_NOTIFY_ONLY : 미읽음 알림(/topic/notify.*)만 보류하고 채팅 메시지는 그대로 전송
+ *
+ * 미읽음 알림은 절대값(total)을 담으므로 보류 중에는 가장 최근 것 하나만 남긴다(collapse).
+ * 보류된 메시지는 지연이 풀리면 순서대로 다시 보낸다. 모든 조치는 chat.ws.backpressure 지표로 집계한다.
+ * 전송 계층의 하드 한도(send-time-limit, send-buffer-size-limit)를 넘으면 Spring 이 세션을 종료한다.
+ */
+@Slf4j
+@Component
+public class OutboundBackpressure implements ChannelInterceptor, WebSocketHandlerDecoratorFactory {
+
+    public enum Policy { DISCONNECT, DROP_OLDEST, DROP_NOTIFY_ONLY }
+
+    private static final String NOTIFY_PREFIX = "/topic/notify.";
+    private static final byte[] MESSAGE_COMMAND = "MESSAGE".getBytes(StandardCharsets.US_ASCII);
+
+    private final MessageChannel clientOutboundChannel;
+    private final MeterRegistry meterRegistry;
+    private final Policy policy;
+    private final long softLimitBytes;
+    private final long slowSendMs;
+    private final int maxHeld;
+
+    private final ConcurrentHashMap<String, SessionState> states = new ConcurrentHashMap<>();
+
+    // 보류 메시지 재전송 중인 스레드는 정책을 건너뜀
+    private static final ThreadLocal<Boolean> REPLAYING = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    public OutboundBackpressure(
+            @Lazy @Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel,
+            MeterRegistry meterRegistry,
+            @Value("${chat.ws.backpressure.policy:DROP_NOTIFY_ONLY}") Policy policy,
+            @Value("${chat.ws.backpressure.soft-limit-bytes:262144}") long softLimitBytes,
+            @Value("${chat.ws.backpressure.slow-send-ms:3000}") long slowSendMs,
+            @Value("${chat.ws.backpressure.max-held:200}") int maxHeld
+    ) {
+        this.clientOutboundChannel = clientOutboundChannel;
+        this.meterRegistry = meterRegistry;
+        this.policy = policy;
+        this.softLimitBytes = softLimitBytes;
+        this.slowSendMs = slowSendMs;
+        this.maxHeld = maxHeld;
+    }
+
+    /** 세션별 송신 상태 */
+    private static final class SessionState {
+        final WebSocketSession session;
+        final AtomicLong pendingBytes = new AtomicLong();
+        final ConcurrentLinkedQueue<Integer> pendingSizes = new ConcurrentLinkedQueue<>();
+        volatile long sendStartedAt;
+        final Deque<Message<?>> held = new ArrayDeque<>(); // this 로 동기화
+
+        SessionState(WebSocketSession session) {
+            this.session = session;
+        }
+    }
+
+    // ===== 전송 계층: 세션 래핑 =====
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                TrackingSession tracking = new TrackingSession(session);
+                states.put(session.getId(), tracking.state);
+                super.afterConnectionEstablished(tracking);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                SessionState st = states.remove(session.getId());
+                if (st != null) {
+                    synchronized (st) {
+                        st.held.clear();
+                    }
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /** 실제 전송 시간과 전송 완료된 MESSAGE 프레임 바이트를 기록 */
+    private static final class TrackingSession extends WebSocketSessionDecorator {
+        final SessionState state;
+
+        TrackingSession(WebSocketSession delegate) {
+            super(delegate);
+            this.state = new SessionState(this);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            state.sendStartedAt = System.currentTimeMillis();
+            try {
+                super.sendMessage(message);
+            } finally {
+                state.sendStartedAt = 0L;
+                if (isMessageFrame(message)) {
+                    Integer size = state.pendingSizes.poll();
+                    if (size != null) state.pendingBytes.addAndGet(-size);
+                }
+            }
+        }
+    }
+
+    // ===== clientOutboundChannel: 정책 적용 =====
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor h = SimpMessageHeaderAccessor.wrap(message);
+        if (h.getMessageType() != SimpMessageType.MESSAGE || h.getSessionId() == null) return message;
+        SessionState st = states.get(h.getSessionId());
+        if (st == null) return message;
+
+        String type = typeOf(h.getDestination());
+        if (!REPLAYING.get()) {
+            synchronized (st) {
+                boolean pressured = !st.held.isEmpty() || isSlow(st);
+                if (pressured) {
+                    Message<?> out = applyPolicy(st, message, type);
+                    if (out == null) return null;
+                }
+            }
+        }
+
+        int size = sizeOf(message);
+        st.pendingSizes.offer(size);
+        st.pendingBytes.addAndGet(size);
+        return message;
+    }
+
+    /** 지연 세션에 대한 정책 적용(null 이면 지금 보내지 않음) - st 잠금 안에서 호출 */
+    private Message<?> applyPolicy(SessionState st, Message<?> message, String type) {
+        switch (policy) {
+            case DISCONNECT -> {
+                count("disconnect", type);
+                log.warn("[OutboundBackpressure] slow consumer disconnected: session={}, pendingBytes={}",
+                        st.session.getId(), st.pendingBytes.get());
+                try {
+                    st.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+                } catch (IOException e) {
+                    LogUtil.error(log, OutboundBackpressure.class, e);
+                }
+                return null;
+            }
+            case DROP_NOTIFY_ONLY -> {
+                if (!"notify".equals(type)) return message;
+                hold(st, message, type);
+                return null;
+            }
+            default -> {
+                hold(st, message, type);
+                while (st.held.size() > maxHeld) {
+                    Message<?> dropped = st.held.pollFirst();
+                    String droppedType = typeOf(SimpMessageHeaderAccessor.getDestination(dropped.getHeaders()));
+                    count("dropped", droppedType);
+                    if ("chat".equals(droppedType)) {
+                        log.warn("[OutboundBackpressure] chat message dropped for slow session={} (client resyncs by seq gap)",
+                                st.session.getId());
+                    }
+                }
+                return null;
+            }
+        }
+    }
+
+    /** 보류 큐에 추가(미읽음 알림은 최신 하나로 합침) */
+    private void hold(SessionState st, Message<?> message, String type) {
+        if ("notify".equals(type)) {
+            Iterator<Message<?>> it = st.held.iterator();
+            while (it.hasNext()) {
+                if ("notify".equals(typeOf(SimpMessageHeaderAccessor.getDestination(it.next().getHeaders())))) {
+                    it.remove();
+                    count("collapsed", type);
+                }
+            }
+        }
+        st.held.addLast(message);
+        count("held", type);
+    }
+
+    /** 지연이 풀린 세션의 보류 메시지를 순서대로 재전송 */
+    @Scheduled(fixedDelayString = "${chat.ws.backpressure.replay-interval-ms:200}")
+    public void replayHeld() {
+        for (SessionState st : states.values()) {
+            synchronized (st) {
+                if (st.held.isEmpty() || isSlow(st)) continue;
+                REPLAYING.set(Boolean.TRUE);
+                try {
+                    Message<?> m;
+                    while (!isSlow(st) && (m = st.held.pollFirst()) != null) {
+                        clientOutboundChannel.send(m);
+                        count("replayed", typeOf(SimpMessageHeaderAccessor.getDestination(m.getHeaders())));
+                    }
+                } catch (Exception e) {
+                    LogUtil.error(log, OutboundBackpressure.class, e);
+                } finally {
+                    REPLAYING.set(Boolean.FALSE);
+                }
+            }
+        }
+    }
+
+    /** 세션의 전송 대기 바이트(없는 세션은 0) */
+    long pendingBytes(String sessionId) {
+        SessionState st = states.get(sessionId);
+        return (st == null) ? 0L : st.pendingBytes.get();
+    }
+
+    private boolean isSlow(SessionState st) {
+        long started = st.sendStartedAt;
+        return st.pendingBytes.get() > softLimitBytes
+                || (started > 0 && System.currentTimeMillis() - started > slowSendMs);
+    }
+
+    private void count(String action, String type) {
+        meterRegistry.counter("chat.ws.backpressure", "action", action, "type", type, "policy", policy.name()).increment();
+    }
+
+    private static String typeOf(String destination) {
+        if (destination == null) return "other";
+        if (destination.startsWith(NOTIFY_PREFIX)) return "notify";
+        if (destination.startsWith("/topic/chat.")) return "chat";
+        return "other";
+    }
+
+    // CBOR 세션은 binary 프레임으로 전송됨(text 만 세면 CBOR 세션의 대기 바이트가 줄지 않아 계속 지연 세션으로 판단됨)
+    private static boolean isMessageFrame(WebSocketMessage<?> message) {
+        if (message instanceof TextMessage text) return text.getPayload().startsWith("MESSAGE");
+        if (message instanceof BinaryMessage binary) {
+            ByteBuffer buf = binary.getPayload();
+            if (buf.remaining() < MESSAGE_COMMAND.length) return false;
+            for (int i = 0; i < MESSAGE_COMMAND.length; i++) {
+                if (buf.get(buf.position() + i) != MESSAGE_COMMAND[i]) return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static int sizeOf(Message<?> message) {
+        return (message.getPayload() instanceof byte[] bytes) ? bytes.length : 0;
+    }
+}
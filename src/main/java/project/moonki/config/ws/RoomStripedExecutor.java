@@ -0,0 +1,92 @@
+package project.moonki.config.ws;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * clientInboundChannel 용 줄(lane) 분할 실행기.
+ *
+ * - /app/chat.send.{roomId} 메시지는 roomId 해시로, 그 밖의 메시지는 세션 ID 해시로 단일 스레드 lane 하나에 배정한다.
+ *   같은 방의 전송은 도착 순서대로 저장/브로드캐스트되고, 다른 방은 여러 lane 에서 병렬로 처리된다.
+ * - 한 메시지의 핸들러별 작업(컨트롤러, 브로커 등)도 같은 lane 에서 순서대로 실행된다.
+ * - lane 별 대기열 길이(chat.inbound.lane.queue)와 거절 수(chat.inbound.lane.rejected)를 지표로 노출한다.
+ */
+@Slf4j
+@Component
+public class RoomStripedExecutor implements Executor {
+
+    private static final String SEND_PREFIX = "/app/chat.send.";
+
+    private final List<ThreadPoolExecutor> lanes;
+    private final Counter rejected;
+
+    public RoomStripedExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${chat.inbound.lanes:0}") int laneCount,
+            @Value("${chat.inbound.lane-queue-capacity:10000}") int queueCapacity
+    ) {
+        int n = (laneCount > 0) ? laneCount : Runtime.getRuntime().availableProcessors() * 2;
+        List<ThreadPoolExecutor> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            ThreadPoolExecutor lane = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    new CustomizableThreadFactory("ws-inbound-lane-" + i + "-"));
+            Gauge.builder("chat.inbound.lane.queue", lane, e -> e.getQueue().size())
+                    .tag("lane", String.valueOf(i))
+                    .description("clientInboundChannel lane 대기 작업 수")
+                    .register(meterRegistry);
+            list.add(lane);
+        }
+        this.lanes = List.copyOf(list);
+        this.rejected = Counter.builder("chat.inbound.lane.rejected")
+                .description("lane 대기열이 가득 차 거절된 inbound 메시지 수")
+                .register(meterRegistry);
+        log.info("[RoomStripedExecutor] lanes={}, queueCapacity={}", n, queueCapacity);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Object key = (task instanceof MessageHandlingRunnable mhr) ? laneKey(mhr.getMessage()) : null;
+        ThreadPoolExecutor lane = lanes.get((key == null) ? 0 : Math.floorMod(key.hashCode(), lanes.size()));
+        try {
+            lane.execute(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    /** 방 전송이면 roomId, 아니면 세션 ID */
+    private static Object laneKey(Message<?> message) {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination != null && destination.startsWith(SEND_PREFIX)) {
+            try {
+                return Long.valueOf(destination.substring(SEND_PREFIX.length()));
+            } catch (NumberFormatException ignored) {
+                // 형식이 다르면 세션 기준
+            }
+        }
+        return SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        lanes.forEach(ThreadPoolExecutor::shutdown);
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package project.moonki.config.ws;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import project.moonki.utils.LogUtil;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유휴 WebSocket 세션 정리기(해시 휠 기반).
+ *
+ * - 수신 프레임(heartbeat 포함)마다 마지막 수신 시각만 갱신한다(타이머 재등록 없음).
+ * - 세션당 휠 항목 하나가 heartbeat 간격마다 깨어나 경과 시간을 확인하고, 놓친 heartbeat 를 집계한다.
+ * - 연속으로 max-missed 번 놓치면 세션을 종료한다(SESSION_NOT_RELIABLE).
+ * - heartbeat 간격은 세션별 협상값을 쓴다(inbound 인터셉터가 CONNECT 의 heart-beat:cx,cy 를 읽음).
+ *   STOMP 규칙대로 cx 또는 서버 수신 간격 sy 가 0 이면 클라이언트 heartbeat 가 없으므로 추적하지 않고,
+ *   그 외에는 max(cx, sy) 를 간격으로 삼는다. CONNECT 전에는 서버 설정값(heartbeat-ms)으로 본다.
+ */
+@Slf4j
+@Component
+public class SessionIdleReaper implements WebSocketHandlerDecoratorFactory, ChannelInterceptor {
+
+    private final HashedWheelTimer wheel;
+    private final long heartbeatMs;
+    private final int maxMissed;
+    private final Counter missedCounter;
+    private final Counter reapedCounter;
+
+    private final ConcurrentHashMap<String, Tracked> sessions = new ConcurrentHashMap<>();
+
+    private static final class Tracked {
+        final WebSocketSession session;
+        volatile long lastActivity = System.currentTimeMillis();
+        volatile long intervalMs;
+        volatile HashedWheelTimer.Timeout timeout;
+        long reportedMissed; // 휠 작업에서만 접근
+
+        Tracked(WebSocketSession session, long intervalMs) {
+            this.session = session;
+            this.intervalMs = intervalMs;
+        }
+    }
+
+    public SessionIdleReaper(
+            @Qualifier("wsWheelTimer") HashedWheelTimer wheel,
+            MeterRegistry meterRegistry,
+            @Value("${chat.ws.heartbeat-ms:10000}") long heartbeatMs,
+            @Value("${chat.ws.idle.max-missed-heartbeats:3}") int maxMissed
+    ) {
+        this.wheel = wheel;
+        this.heartbeatMs = heartbeatMs;
+        this.maxMissed = maxMissed;
+        this.missedCounter = Counter.builder("chat.ws.heartbeat.missed")
+                .description("놓친 클라이언트 heartbeat 수")
+                .register(meterRegistry);
+        this.reapedCounter = Counter.builder("chat.ws.idle.reaped")
+                .description("heartbeat 누락으로 종료된 세션 수")
+                .register(meterRegistry);
+        Gauge.builder("chat.ws.wheel.pending", wheel, HashedWheelTimer::pending)
+                .description("해시 휠에 대기 중인 타이머 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                Tracked t = new Tracked(session, heartbeatMs);
+                sessions.put(session.getId(), t);
+                schedule(t, heartbeatMs);
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+                Tracked t = sessions.get(session.getId());
+                if (t != null) t.lastActivity = System.currentTimeMillis();
+                super.handleMessage(session, message);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                Tracked t = sessions.remove(session.getId());
+                if (t != null && t.timeout != null) t.timeout.cancel();
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /** CONNECT 의 heart-beat 협상 결과로 세션별 간격 설정 */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor h = SimpMessageHeaderAccessor.wrap(message);
+        if (h.getMessageType() != SimpMessageType.CONNECT || h.getSessionId() == null) return message;
+
+        Tracked t = sessions.get(h.getSessionId());
+        if (t == null) return message;
+        long cx = StompHeaderAccessor.wrap(message).getHeartbeat()[0];
+        long interval = negotiatedInterval(cx, heartbeatMs);
+        if (interval == 0) {
+            // 클라이언트가 heartbeat 를 보내지 않음 -> 유휴 판정 대상에서 제외
+            if (sessions.remove(h.getSessionId(), t) && t.timeout != null) t.timeout.cancel();
+            return message;
+        }
+        t.intervalMs = interval;
+        return message;
+    }
+
+    /**
+     * 클라이언트 -> 서버 heartbeat 간격(STOMP 1.2)
+     *
+     * @param cx 클라이언트가 보낼 수 있는 최소 간격(CONNECT heart-beat 첫 값)
+     * @param sy 서버가 받기를 원하는 간격
+     * @return 0 이면 heartbeat 없음
+     */
+    static long negotiatedInterval(long cx, long sy) {
+        return (cx <= 0 || sy <= 0) ? 0 : Math.max(cx, sy);
+    }
+
+    private void schedule(Tracked t, long delayMs) {
+        t.timeout = wheel.newTimeout(() -> check(t), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void check(Tracked t) {
+        if (sessions.get(t.session.getId()) != t) return; // 이미 종료됨
+
+        long intervalMs = t.intervalMs;
+        long idle = System.currentTimeMillis() - t.lastActivity;
+        long missed = idle / intervalMs;
+        if (missed == 0) {
+            t.reportedMissed = 0;
+            schedule(t, intervalMs - idle);
+            return;
+        }
+
+        if (missed > t.reportedMissed) {
+            missedCounter.increment(missed - t.reportedMissed);
+            t.reportedMissed = missed;
+        }
+        if (missed >= maxMissed) {
+            reapedCounter.increment();
+            log.info("[SessionIdleReaper] idle session closed: session={}, idleMs={}", t.session.getId(), idle);
+            try {
+                t.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException e) {
+                LogUtil.error(log, SessionIdleReaper.class, e);
+            }
+            return;
+        }
+        schedule(t, intervalMs - (idle % intervalMs));
+    }
+}
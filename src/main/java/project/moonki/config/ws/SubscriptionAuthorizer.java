@@ -0,0 +1,81 @@
+package project.moonki.config.ws;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+import project.moonki.components.chat.RoomParticipantCache;
+
+/**
+ * SUBSCRIBE 권한 검사(inbound 채널 인터셉터).
+ *
+ * - /topic/chat.room.{roomId} : 방 참여자만(참여자 캐시 조회, miss 일 때만 DB)
+ * - /topic/notify.{userPk}    : 본인만
+ * - /topic/presence.{userPk}  : 본인만(DM 상대의 접속 상태)
+ * - /user/queue/errors        : 허용(사용자 목적지라 구독한 세션 본인에게만 전달되는 전송 실패 알림)
+ * - 그 외 목적지(패턴 구독 포함)는 거부
+ *
+ * 사용자는 handshake 에서 정해진 {@link WsUserPrincipal#getUserPk()} 를 쓴다.
+ * 거부 시 AccessDeniedException 을 던지며, STOMP ERROR 프레임으로 클라이언트에 전달된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SubscriptionAuthorizer implements ChannelInterceptor {
+
+    private static final String ROOM_PREFIX = "/topic/chat.room.";
+    private static final String NOTIFY_PREFIX = "/topic/notify.";
+    private static final String PRESENCE_PREFIX = "/topic/presence.";
+    private static final String SEND_ERRORS = "/user/queue/errors";
+
+    private final RoomParticipantCache participants;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor h = SimpMessageHeaderAccessor.wrap(message);
+        if (h.getMessageType() != SimpMessageType.SUBSCRIBE) return message;
+
+        Long userPk = (h.getUser() instanceof WsUserPrincipal p) ? p.getUserPk() : null;
+        String destination = h.getDestination();
+        if (userPk == null || destination == null || !isAllowed(userPk, destination)) {
+            meterRegistry.counter("chat.ws.subscribe.denied").increment();
+            log.warn("[SubscriptionAuthorizer] denied: userPk={}, destination={}", userPk, destination);
+            throw new AccessDeniedException("구독 권한이 없습니다: " + destination);
+        }
+        return message;
+    }
+
+    private boolean isAllowed(Long userPk, String destination) {
+        if (SEND_ERRORS.equals(destination)) {
+            return true;
+        }
+        if (destination.startsWith(NOTIFY_PREFIX)) {
+            return userPk.equals(parseId(destination, NOTIFY_PREFIX));
+        }
+        if (destination.startsWith(PRESENCE_PREFIX)) {
+            return userPk.equals(parseId(destination, PRESENCE_PREFIX));
+        }
+        if (destination.startsWith(ROOM_PREFIX)) {
+            Long roomId = parseId(destination, ROOM_PREFIX);
+            return roomId != null && participants.find(roomId)
+                    .map(p -> p.hasParticipant(userPk))
+                    .orElse(false);
+        }
+        return false;
+    }
+
+    private static Long parseId(String destination, String prefix) {
+        try {
+            return Long.valueOf(destination.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,14 +1,28 @@
 package project.moonki.config.ws;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import project.moonki.components.chat.fanout.RelayChatFanout;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Configuration(proxyBeanMethods = true)
 @EnableWebSocketMessageBroker
@@ -16,6 +30,44 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final WsJwtHandshakeInterceptor jwtHandshakeInterceptor;
+    private final RoomStripedExecutor roomStripedExecutor;
+    private final OutboundBackpressure outboundBackpressure;
+    private final SessionIdleReaper sessionIdleReaper;
+    private final CborPayloadCodec cborPayloadCodec;
+    private final SubscriptionAuthorizer subscriptionAuthorizer;
+    private final WsTransportMetrics wsTransportMetrics;
+    private final HashedWheelTimer wsWheelTimer;
+    private final ObjectProvider<RelayChatFanout> relayChatFanout;
+
+    @Value("${chat.ws.heartbeat-ms:10000}")
+    private long heartbeatMs;
+
+    @Value("${chat.ws.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${chat.ws.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${chat.ws.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    @Value("${chat.ws.deflate.enabled:true}")
+    private boolean deflateEnabled;
+
+    @Value("${chat.fanout.mode:local}")
+    private String fanoutMode;
+
+    @Value("${chat.fanout.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${chat.fanout.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${chat.fanout.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${chat.fanout.relay.passcode:guest}")
+    private String relayPasscode;
 
     // 스케줄러: 기존 충돌 회피용 이름 유지
     @Bean(name = "wsHeartbeatScheduler")
@@ -27,25 +79,109 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         return ts;
     }
 
+    // 대량 세션용 해시 휠 타이머(heartbeat/유휴 타임아웃) - 이 설정 클래스가 주입받으므로 static
+    @Bean(name = "wsWheelTimer", destroyMethod = "stop")
+    public static HashedWheelTimer wsWheelTimer(
+            @Value("${chat.ws.wheel.tick-ms:500}") long tickMs,
+            @Value("${chat.ws.wheel.size:512}") int wheelSize
+    ) {
+        ExecutorService expiry = Executors.newFixedThreadPool(2, new CustomizableThreadFactory("ws-wheel-expiry-"));
+        return new HashedWheelTimer("ws-wheel", tickMs, wheelSize, expiry);
+    }
+
+    // SockJS 세션 heartbeat: 단발 작업은 휠에서, 주기 작업은 wsHeartbeatScheduler 에서
+    @Bean(name = "wsSockJsScheduler")
+    public TaskScheduler wsSockJsScheduler() {
+        return new WheelTaskScheduler(wsWheelTimer, wsHeartbeatScheduler());
+    }
+
+    // SimpleBroker 구독 저장소를 목적지 해시 인덱스로 교체(chat.broker.indexed-registry=false 면 기본 저장소 유지)
+    @Bean
+    public static BeanPostProcessor indexedSubscriptionRegistryPostProcessor(Environment env) {
+        boolean enabled = env.getProperty("chat.broker.indexed-registry", Boolean.class, true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof SimpleBrokerMessageHandler handler) {
+                    handler.setSubscriptionRegistry(new IndexedSubscriptionRegistry());
+                }
+                return bean;
+            }
+        };
+    }
+
     @Bean
     public WsUserHandshakeHandler wsUserHandshakeHandler() {
-        return new WsUserHandshakeHandler();
+        return new WsUserHandshakeHandler(deflateEnabled);
     }
 
+    // relay 모드: 외부 STOMP 브로커가 노드 간 구독/전달 담당, 그 외에는 노드별 SimpleBroker
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic", "/queue")
-                .setTaskScheduler(wsHeartbeatScheduler())
-                .setHeartbeatValue(new long[]{10000, 10000});
+        if ("relay".equalsIgnoreCase(fanoutMode)) {
+            config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    .setSystemHeartbeatSendInterval(heartbeatMs)
+                    .setSystemHeartbeatReceiveInterval(heartbeatMs);
+        } else {
+            config.enableSimpleBroker("/topic", "/queue")
+                    .setTaskScheduler(wsHeartbeatScheduler())
+                    .setHeartbeatValue(new long[]{heartbeatMs, heartbeatMs});
+        }
         config.setApplicationDestinationPrefixes("/app");
     }
 
+    // payload 변환기: 기본 JSON + content-type 이 application/cbor 일 때만 CBOR
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        messageConverters.add(cborPayloadCodec.converter());
+        return true;
+    }
+
+    // inbound 메시지: SUBSCRIBE 권한 검사 + CONNECT heartbeat 협상값 반영 + 방(roomId) 단위 순서 보장 + 방 간 병렬 처리
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.executor(roomStripedExecutor)
+                .interceptors(subscriptionAuthorizer, sessionIdleReaper, cborPayloadCodec.inbound());
+    }
+
+    // outbound 지연 세션: backpressure 정책 적용
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(cborPayloadCodec, outboundBackpressure);
+        relayChatFanout.ifAvailable(registration::interceptors);
+    }
+
+    // 전송 계층 하드 한도(초과 시 세션 종료) + 송신 추적 데코레이터
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .addDecoratorFactory(outboundBackpressure)
+                .addDecoratorFactory(sessionIdleReaper)
+                .addDecoratorFactory(cborPayloadCodec)
+                .addDecoratorFactory(wsTransportMetrics);
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
                 .setAllowedOrigins("http://localhost:5173")
                 .addInterceptors(jwtHandshakeInterceptor)
                 .setHandshakeHandler(wsUserHandshakeHandler())
-                .withSockJS();
+                .withSockJS()
+                .setTaskScheduler(wsSockJsScheduler());
+
+        // native WebSocket(SockJS 프레이밍/폴링 없음) - 클라이언트가 제안하면 permessage-deflate 협상
+        registry.addEndpoint("/ws-native")
+                .setAllowedOrigins("http://localhost:5173")
+                .addInterceptors(jwtHandshakeInterceptor)
+                .setHandshakeHandler(wsUserHandshakeHandler());
     }
 }
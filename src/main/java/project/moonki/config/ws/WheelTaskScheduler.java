@@ -0,0 +1,107 @@
+package project.moonki.config.ws;
+
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.*;
+
+/**
+ * 단발 작업을 해시 휠 타이머로 처리하는 TaskScheduler.
+ *
+ * SockJS 세션은 프레임을 보낼 때마다 heartbeat 작업을 취소/재등록하므로, 세션 수만큼 ScheduledFuture 가 생긴다.
+ * 단발 작업(schedule(Runnable, Instant))은 휠에서 O(1)로 등록/취소하고, 주기 작업은 기존 스케줄러에 위임한다.
+ */
+public class WheelTaskScheduler implements TaskScheduler {
+
+    private final HashedWheelTimer wheel;
+    private final TaskScheduler periodic;
+
+    public WheelTaskScheduler(HashedWheelTimer wheel, TaskScheduler periodic) {
+        this.wheel = wheel;
+        this.periodic = periodic;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Instant startTime) {
+        CompletableFuture<Object> done = new CompletableFuture<>();
+        long delayMs = Math.max(0, Duration.between(Instant.now(), startTime).toMillis());
+        HashedWheelTimer.Timeout timeout = wheel.newTimeout(() -> {
+            try {
+                task.run();
+                done.complete(null);
+            } catch (RuntimeException e) {
+                done.completeExceptionally(e);
+                throw e;
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+        return new WheelFuture(timeout, done);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        return periodic.schedule(task, trigger);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Instant startTime, Duration period) {
+        return periodic.scheduleAtFixedRate(task, startTime, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Duration period) {
+        return periodic.scheduleAtFixedRate(task, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Instant startTime, Duration delay) {
+        return periodic.scheduleWithFixedDelay(task, startTime, delay);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Duration delay) {
+        return periodic.scheduleWithFixedDelay(task, delay);
+    }
+
+    private record WheelFuture(HashedWheelTimer.Timeout timeout, CompletableFuture<Object> done)
+            implements ScheduledFuture<Object> {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(timeout.remainingNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), o.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = timeout.cancel();
+            if (cancelled) done.cancel(false);
+            return cancelled;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return timeout.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return timeout.isCancelled() || done.isDone();
+        }
+
+        @Override
+        public Object get() throws InterruptedException, ExecutionException {
+            return done.get();
+        }
+
+        @Override
+        public Object get(long t, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return done.get(t, unit);
+        }
+    }
+}
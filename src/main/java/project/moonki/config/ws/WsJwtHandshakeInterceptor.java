@@ -1,5 +1,6 @@
 package project.moonki.config.ws;
 
+import io.jsonwebtoken.Claims;
 import io.micrometer.common.lang.NonNullApi;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.server.ServerHttpRequest;
@@ -7,8 +8,8 @@ import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.server.HandshakeInterceptor;
-import project.moonki.domain.user.entity.MUser;
-import project.moonki.repository.user.MuserRepository;
+import project.moonki.components.user.PrincipalCache;
+import project.moonki.dto.login.MUserDetailsDto;
 import project.moonki.security.JwtTokenProvider;
 
 import java.net.URI;
@@ -23,8 +24,8 @@ import java.util.Optional;
  *
  * Responsibilities:
  * - Extracts the JWT token from the Authorization header or query parameters of the request.
- * - Validates the extracted token using the JwtTokenProvider.
- * - Retrieves user information from the database based on the token payload.
+ * - Verifies the extracted token once using the JwtTokenProvider and reads its claims.
+ * - Resolves the current principal through PrincipalCache and rejects tokens whose version is outdated.
  * - Adds user-specific attributes to the WebSocket session attributes for further use.
  *
  * Integration:
@@ -38,7 +39,7 @@ import java.util.Optional;
  *
  * Dependencies:
  * - `JwtTokenProvider`: Provides methods for validating tokens and extracting user identifiers.
- * - `MuserRepository`: Used to fetch user details from the database.
+ * - `PrincipalCache`: Cached current principals (database lookup only on a miss).
  *
  * Returns:
  * - `true`: If the token is valid and the associated user exists in the database.
@@ -50,7 +51,7 @@ public class WsJwtHandshakeInterceptor implements HandshakeInterceptor {
 
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final MuserRepository muserRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
@@ -70,15 +71,18 @@ public class WsJwtHandshakeInterceptor implements HandshakeInterceptor {
             }
         }
 
-        if (token == null || !jwtTokenProvider.validateToken(token)) return false;
+        Optional<Claims> claims = jwtTokenProvider.verify(token);
+        if (claims.isEmpty()) return false;
 
-        String userId = jwtTokenProvider.getUserId(token);
-        Optional<MUser> opt = muserRepository.findByUserId(userId);
-        if (opt.isEmpty()) return false;
+        // claims(uid/ver) -> 인증 주체 캐시(토큰 버전 일치 시만), 이전 형식 토큰은 아이디로 조회
+        Optional<MUserDetailsDto> fromToken = jwtTokenProvider.toPrincipal(claims.get());
+        Optional<MUserDetailsDto> principal = fromToken.isPresent()
+                ? principalCache.verify(fromToken.get())
+                : principalCache.findByUserId(claims.get().getSubject());
+        if (principal.isEmpty()) return false;
 
-        MUser user = opt.get();
-        attributes.put("userId", user.getUserId());
-        attributes.put("userPk", user.getId());
+        attributes.put("userId", principal.get().getUserId());
+        attributes.put("userPk", principal.get().getId());
         return true;
     }
 
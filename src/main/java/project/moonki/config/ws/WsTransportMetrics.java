@@ -0,0 +1,150 @@
+package project.moonki.config.ws;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.*;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+import org.springframework.web.socket.sockjs.transport.session.AbstractSockJsSession;
+import org.springframework.web.socket.sockjs.transport.session.PollingSockJsSession;
+import org.springframework.web.socket.sockjs.transport.session.StreamingSockJsSession;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+
+/**
+ * WebSocket 전송 방식별 지표.
+ *
+ * - chat.ws.sessions.active{transport}        : 전송 방식(websocket / sockjs-websocket / sockjs-streaming / sockjs-polling)별 접속 수
+ * - chat.ws.sessions.opened{transport,deflate}: 접속 수(permessage-deflate 협상 여부 포함)
+ * - chat.ws.outbound.bytes{transport}         : 압축 전 송신 프레임 크기
+ * - chat.ws.deflate.ratio                     : deflate 세션 송신 프레임을 표본 압축해 구한 압축률(압축 후/전)
+ *
+ * 실제 압축은 컨테이너(Tomcat)가 하므로 압축 후 바이트는 직접 볼 수 없어, sample-every 번째 프레임마다 같은 방식(raw deflate)으로 추정한다.
+ */
+@Component
+public class WsTransportMetrics implements WebSocketHandlerDecoratorFactory {
+
+    public static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+    private static final List<String> TRANSPORTS = List.of("websocket", "sockjs-websocket", "sockjs-streaming", "sockjs-polling");
+
+    private final MeterRegistry meterRegistry;
+    private final int sampleEvery;
+    private final ConcurrentHashMap<String, AtomicInteger> active = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, DistributionSummary> outboundBytes = new ConcurrentHashMap<>();
+    private final DistributionSummary deflateRatio;
+    private final AtomicLong deflateFrames = new AtomicLong();
+
+    public WsTransportMetrics(
+            MeterRegistry meterRegistry,
+            @Value("${chat.ws.deflate.sample-every:50}") int sampleEvery
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.sampleEvery = Math.max(1, sampleEvery);
+        for (String transport : TRANSPORTS) {
+            AtomicInteger count = new AtomicInteger();
+            active.put(transport, count);
+            Gauge.builder("chat.ws.sessions.active", count, AtomicInteger::get)
+                    .tag("transport", transport)
+                    .description("전송 방식별 WebSocket 세션 수")
+                    .register(meterRegistry);
+            outboundBytes.put(transport, DistributionSummary.builder("chat.ws.outbound.bytes")
+                    .tag("transport", transport)
+                    .description("압축 전 송신 프레임 크기")
+                    .baseUnit("bytes")
+                    .register(meterRegistry));
+        }
+        this.deflateRatio = DistributionSummary.builder("chat.ws.deflate.ratio")
+                .description("permessage-deflate 추정 압축률(압축 후/전, 표본)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                String transport = transportOf(session);
+                boolean deflate = session.getExtensions().stream()
+                        .anyMatch(e -> PERMESSAGE_DEFLATE.equalsIgnoreCase(e.getName()));
+                active.get(transport).incrementAndGet();
+                meterRegistry.counter("chat.ws.sessions.opened", "transport", transport, "deflate", String.valueOf(deflate))
+                        .increment();
+                super.afterConnectionEstablished(new MeteredSession(session, transport, deflate));
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                active.get(transportOf(session)).decrementAndGet();
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /** 송신 프레임 크기 기록 + deflate 세션 표본 압축 */
+    private final class MeteredSession extends WebSocketSessionDecorator {
+        private final DistributionSummary bytes;
+        private final boolean deflate;
+
+        MeteredSession(WebSocketSession delegate, String transport, boolean deflate) {
+            super(delegate);
+            this.bytes = outboundBytes.get(transport);
+            this.deflate = deflate;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            super.sendMessage(message);
+            bytes.record(message.getPayloadLength());
+            if (deflate && deflateFrames.incrementAndGet() % sampleEvery == 0) {
+                byte[] raw = payloadOf(message);
+                if (raw.length > 0) deflateRatio.record((double) deflatedSize(raw) / raw.length);
+            }
+        }
+    }
+
+    private static String transportOf(WebSocketSession wrapped) {
+        WebSocketSession session = WebSocketSessionDecorator.unwrap(wrapped);
+        if (!(session instanceof AbstractSockJsSession)) return "websocket";
+        if (session instanceof StreamingSockJsSession) return "sockjs-streaming";
+        if (session instanceof PollingSockJsSession) return "sockjs-polling";
+        return "sockjs-websocket";
+    }
+
+    private static byte[] payloadOf(WebSocketMessage<?> message) {
+        if (message instanceof TextMessage text) return text.asBytes();
+        if (message instanceof BinaryMessage binary) {
+            ByteBuffer buf = binary.getPayload().duplicate();
+            byte[] out = new byte[buf.remaining()];
+            buf.get(out);
+            return out;
+        }
+        return new byte[0];
+    }
+
+    /** permessage-deflate 와 같은 raw deflate(헤더 없음) 압축 크기 */
+    private static int deflatedSize(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] buf = new byte[Math.max(64, raw.length)];
+            int size = 0;
+            while (!deflater.finished()) {
+                size += deflater.deflate(buf);
+            }
+            return size;
+        } finally {
+            deflater.end();
+        }
+    }
+}
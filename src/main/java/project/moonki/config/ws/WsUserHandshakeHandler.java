@@ -1,16 +1,25 @@
 package project.moonki.config.ws;
 
 import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.web.socket.WebSocketExtension;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
 
 import java.security.Principal;
+import java.util.List;
 import java.util.Map;
 
 /**
  * A WebSocket handshake handler that extracts user information from the handshake request.
  */
 public class WsUserHandshakeHandler extends DefaultHandshakeHandler {
+
+    private final boolean deflateEnabled;
+
+    public WsUserHandshakeHandler(boolean deflateEnabled) {
+        this.deflateEnabled = deflateEnabled;
+    }
+
     @Override
     protected Principal determineUser(ServerHttpRequest request,
                                       WebSocketHandler wsHandler,
@@ -19,4 +28,18 @@ public class WsUserHandshakeHandler extends DefaultHandshakeHandler {
         Long userPk   = (Long)   attributes.get("userPk");
         return new WsUserPrincipal(userId, userPk);
     }
+
+    /**
+     * Drops permessage-deflate from the negotiated extensions when compression is disabled.
+     */
+    @Override
+    protected List<WebSocketExtension> filterRequestedExtensions(ServerHttpRequest request,
+                                                                 List<WebSocketExtension> requestedExtensions,
+                                                                 List<WebSocketExtension> supportedExtensions) {
+        List<WebSocketExtension> extensions = super.filterRequestedExtensions(request, requestedExtensions, supportedExtensions);
+        if (deflateEnabled) return extensions;
+        return extensions.stream()
+                .filter(e -> !WsTransportMetrics.PERMESSAGE_DEFLATE.equalsIgnoreCase(e.getName()))
+                .toList();
+    }
 }
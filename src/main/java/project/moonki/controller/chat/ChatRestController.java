@@ -10,6 +10,7 @@ import project.moonki.dto.login.MUserDetailsDto;
 import project.moonki.service.chat.ChatQueryService;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/chat")
@@ -24,7 +25,7 @@ public class ChatRestController {
             @RequestParam(value = "q", required = false) String q,
             @RequestParam(value = "limit", defaultValue = "50") int limit
     ) {
-        Long myId = principal.getUser().getId();
+        Long myId = principal.getId();
         return chatQuery.listUsersWithUnreadFirst(myId, q, limit);
     }
 
@@ -34,7 +35,7 @@ public class ChatRestController {
             @AuthenticationPrincipal MUserDetailsDto principal,
             @RequestParam("userId") Long otherUserId
     ) {
-        Long myId = principal.getUser().getId();
+        Long myId = principal.getId();
         return chatQuery.openDm(myId, otherUserId);
     }
 
@@ -46,10 +47,34 @@ public class ChatRestController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "50") int size
     ) {
-        Long myId = principal.getUser().getId();
+        Long myId = principal.getId();
         return chatQuery.getRoomMessages(myId, roomId, page, size);
     }
 
+    /** 방 메시지 커서 조회(과거 방향) - 전체 건수 없이 before 메시지 이전 size 건 */
+    @GetMapping(value = "/rooms/{roomId}/messages", params = "before")
+    public ChatMessageSliceDto getMessagesBefore(
+            @AuthenticationPrincipal MUserDetailsDto principal,
+            @PathVariable Long roomId,
+            @RequestParam Long before,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        Long myId = principal.getId();
+        return chatQuery.getRoomMessagesByCursor(myId, roomId, before, null, size);
+    }
+
+    /** 방 메시지 커서 조회(최신 방향) - after 메시지 이후 size 건 */
+    @GetMapping(value = "/rooms/{roomId}/messages", params = "after")
+    public ChatMessageSliceDto getMessagesAfter(
+            @AuthenticationPrincipal MUserDetailsDto principal,
+            @PathVariable Long roomId,
+            @RequestParam Long after,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        Long myId = principal.getId();
+        return chatQuery.getRoomMessagesByCursor(myId, roomId, null, after, size);
+    }
+
     /** 방 읽음 처리 */
     @PostMapping("/rooms/{roomId}/read")
     @ResponseStatus(HttpStatus.NO_CONTENT)
@@ -57,20 +82,20 @@ public class ChatRestController {
             @AuthenticationPrincipal MUserDetailsDto principal,
             @PathVariable Long roomId
     ) {
-        Long myId = principal.getUser().getId();
+        Long myId = principal.getId();
         chatQuery.markRead(myId, roomId);
     }
 
     /** 전체 미읽음 수 */
     @GetMapping("/unread/count")
     public long unread(@AuthenticationPrincipal MUserDetailsDto principal) {
-        return chatQuery.countUnread(principal.getUser().getId());
+        return chatQuery.countUnread(principal.getId());
     }
 
     /** 발신자별 미읽음 수 */
     @GetMapping("/unread/by-sender")
     public List<UnreadBySenderDto> unreadBySender(@AuthenticationPrincipal MUserDetailsDto principal) {
-        return chatQuery.unreadBySender(principal.getUser().getId());
+        return chatQuery.unreadBySender(principal.getId());
     }
 
     @GetMapping("/rooms/my")
@@ -78,6 +103,24 @@ public class ChatRestController {
             @AuthenticationPrincipal MUserDetailsDto principal,
             @RequestParam(defaultValue = "50") int limit
     ) {
-        return chatQuery.myRooms(principal.getUser().getId(), limit);
+        return chatQuery.myRooms(principal.getId(), limit);
+    }
+
+    /** 접속 중인 사용자 조회(DM 상대만) */
+    @GetMapping("/presence")
+    public Set<Long> presence(
+            @AuthenticationPrincipal MUserDetailsDto principal,
+            @RequestParam("userIds") List<Long> userIds
+    ) {
+        return chatQuery.onlineUsers(principal.getId(), userIds);
+    }
+
+    /** 재연결 동기화: 방별 마지막 seq(또는 전역 커서) 이후 변경분만 */
+    @PostMapping("/sync")
+    public ChatSyncResponseDto sync(
+            @AuthenticationPrincipal MUserDetailsDto principal,
+            @RequestBody ChatSyncRequestDto req
+    ) {
+        return chatQuery.sync(principal.getId(), req);
     }
 }
@@ -1,72 +1,88 @@
 package project.moonki.controller.chat;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.http.HttpStatus;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.server.ResponseStatusException;
 import project.moonki.config.ws.WsUserPrincipal;
-import project.moonki.domain.chat.ChatMessage;
-import project.moonki.domain.chat.ChatRoom;
-import project.moonki.domain.user.entity.MUser;
-import project.moonki.dto.chat.ChatMessageDto;
+import project.moonki.dto.chat.ChatSendErrorDto;
 import project.moonki.dto.chat.ChatSendRequestDto;
-import project.moonki.dto.chat.UnreadEventDto;
-import project.moonki.repository.chat.ChatRoomRepository;
-import project.moonki.repository.user.MuserRepository;
+import project.moonki.service.chat.ChatMessageBatchWriter;
 import project.moonki.service.chat.ChatService;
+import project.moonki.utils.LogUtil;
 
 import java.security.Principal;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Controller to handle WebSocket communication for the chat feature.
  * This controller listens for messages sent to the defined message mappings
  * and processes these messages accordingly.
  *
- * It is responsible for handling incoming chat messages, saving them,
- * and broadcasting them to the corresponding chat room topics.
+ * It is responsible for handling incoming chat messages and saving them.
+ * Broadcasting to the room topic and unread notifications happens after the
+ * transaction commits, on the fanout lanes of ChatFanoutListener.
+ * A send that fails (not a participant, missing room, full write queue) is reported
+ * back to the sender on /user/queue/errors as a ChatSendErrorDto.
  *
  * Dependencies:
  * - ChatService: Provides business logic for managing chat messages.
- * - MuserRepository: Repository for accessing user information from the database.
- * - SimpMessagingTemplate: Facilitates message broadcasting to WebSocket destinations.
+ * - ChatMessageBatchWriter: Group commit writer used when chat.batch.enabled=true.
+ * - SimpMessagingTemplate: Sends failure notices to the sender's error queue.
  */
+@Slf4j
 @Controller
 @RequiredArgsConstructor
 public class ChatWsController {
 
+    /** 전송 실패 알림 목적지(클라이언트는 /user/queue/errors 구독) */
+    public static final String SEND_ERROR_QUEUE = "/queue/errors";
+
     private final ChatService chatService;
-    private final MuserRepository users;
+    private final ChatMessageBatchWriter batchWriter;
     private final SimpMessagingTemplate broker;
-    private final ChatRoomRepository rooms;
 
     @MessageMapping("/chat.send.{roomId}")
     public void send(@DestinationVariable Long roomId, ChatSendRequestDto req, Principal principal) {
         WsUserPrincipal p = (WsUserPrincipal) principal;
 
-        ChatMessage saved = chatService.saveMessage(roomId, p.getUserPk(), req.content());
-        chatService.markRead(roomId, p.getUserPk());
+        Long senderId = p.getUserPk();
 
-        String nickname = users.findById(p.getUserPk()).map(MUser::getNickname).orElse("unknown");
+        // 그룹 커밋 사용 시: 배치 커밋 후 fanout(이벤트), 여기서는 실패만 보낸 사람에게 알림
+        if (batchWriter.isEnabled()) {
+            batchWriter.submit(roomId, senderId, req.content())
+                    .whenComplete((saved, ex) -> {
+                        if (ex != null) reportFailure(p, roomId, ex);
+                    });
+            return;
+        }
 
-        ChatMessageDto payload = new ChatMessageDto(
-                saved.getId(), saved.getRoomId(), saved.getSenderId(),
-                nickname, saved.getContent(), saved.getCreatedAt()
-        );
-
-        //broker.convertAndSend("/topic/chat." + roomId, payload);
-        broker.convertAndSend("/topic/chat.room." + roomId, payload);
-
-        ChatRoom room = rooms.findById(roomId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        Long receiver = room.otherOf(p.getUserPk());
+        // 저장 시 보낸 사람의 읽음 워터마크도 함께 전진(별도 markRead 트랜잭션 불필요), 브로드캐스트는 커밋 후 fanout
+        try {
+            chatService.saveMessage(roomId, senderId, req.content());
+        } catch (Exception e) {
+            reportFailure(p, roomId, e);
+        }
+    }
 
-        long total = chatService.countUnreadForUser(receiver);
-        long bySender = chatService.countUnreadFrom(roomId, receiver, p.getUserPk());
+    private void reportFailure(WsUserPrincipal p, Long roomId, Throwable ex) {
+        Throwable cause = (ex instanceof CompletionException && ex.getCause() != null) ? ex.getCause() : ex;
+        LogUtil.error(log, ChatWsController.class, cause);
 
-        UnreadEventDto evt = new UnreadEventDto("UNREAD", total, roomId, p.getUserPk(), bySender);
-        broker.convertAndSend("/topic/notify." + receiver, evt);
+        ChatSendErrorDto error;
+        if (cause instanceof ResponseStatusException rse) {
+            String reason = rse.getReason() != null ? rse.getReason() : HttpStatus.valueOf(rse.getStatusCode().value()).getReasonPhrase();
+            error = new ChatSendErrorDto(roomId, rse.getStatusCode().value(), reason);
+        } else if (cause instanceof RejectedExecutionException) {
+            error = new ChatSendErrorDto(roomId, HttpStatus.SERVICE_UNAVAILABLE.value(), cause.getMessage());
+        } else {
+            error = new ChatSendErrorDto(roomId, HttpStatus.INTERNAL_SERVER_ERROR.value(), "메시지 저장에 실패했습니다.");
+        }
+        broker.convertAndSendToUser(p.getName(), SEND_ERROR_QUEUE, error);
     }
 }
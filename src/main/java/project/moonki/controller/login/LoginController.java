@@ -7,6 +7,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import project.moonki.dto.login.LoginResponseDto;
 import project.moonki.dto.login.LoginRequestDto;
+import project.moonki.dto.login.RefreshTokenRequestDto;
 import project.moonki.dto.muser.ChangePasswordRequestDto;
 import project.moonki.dto.muser.SignupRequestDto;
 import project.moonki.dto.muser.UserResponseDto;
@@ -29,6 +30,17 @@ public class LoginController {
         return loginService.login(req);
     }
 
+    @PostMapping("/refresh")
+    public LoginResponseDto refresh(@Valid @RequestBody RefreshTokenRequestDto req) {
+        return loginService.refresh(req.refreshToken());
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequestDto req) {
+        loginService.logout(req.refreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/exists/userId")
     public boolean checkUserId(@RequestParam String userId) {
         return loginService.existsUserId(userId);
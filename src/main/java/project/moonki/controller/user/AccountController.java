@@ -61,14 +61,13 @@ public class AccountController {
      *  비밀번호 변경
      * @param authentication
      * @param req
-     * @return
+     * @return 새 액세스/리프레시 토큰(기존 토큰은 무효)
      */
     @PutMapping("/me/password")
-    public ResponseEntity<Void> changePassword(Authentication authentication,
-                                               @Valid @RequestBody ChangePasswordRequestDto req
+    public ResponseEntity<LoginResponseDto> changePassword(Authentication authentication,
+                                                           @Valid @RequestBody ChangePasswordRequestDto req
     ) {
-        accountService.changePassword(authentication, req);
-        return ResponseEntity.noContent().build(); // 204
+        return ResponseEntity.ok(accountService.changePassword(authentication, req));
     }
 
     /**
@@ -0,0 +1,61 @@
+package project.moonki.domain.chat;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 노드 간 채팅 fanout 아웃박스(chat.fanout.mode=outbox 일 때만 사용).
+ * 메시지 저장 트랜잭션에서 메시지마다 한 행을 함께 기록하고(롤백되면 같이 사라짐),
+ * 다른 노드가 published_at(DB 시각) 기준으로 읽어 자기 구독자에게 발행한다.
+ * 발신자 닉네임은 받는 노드가 사용자 캐시로 채운다. 오래된 행은 보존 기간이 지나면 삭제한다.
+ */
+@Entity
+@Table(name = "chat_fanout_outbox",
+        indexes = {
+                @Index(name = "idx_chat_fanout_outbox_published", columnList = "published_at")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatFanoutOutbox {
+
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // ChatMessage 와 같이 시퀀스 + pooled 할당 사용(IDENTITY 는 메시지 묶음의 아웃박스 행을 JDBC 배치로 넣을 수 없음)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chat_fanout_outbox_id_gen")
+    @SequenceGenerator(name = "chat_fanout_outbox_id_gen", sequenceName = "chat_fanout_outbox_id_seq", allocationSize = ID_ALLOCATION_SIZE)
+    private Long id;
+
+    // 발행 노드
+    @Column(name = "node_id", nullable = false, length = 64)
+    private String nodeId;
+
+    @Column(name = "message_id", nullable = false)
+    private Long messageId;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(name = "sender_id", nullable = false)
+    private Long senderId;
+
+    @Lob
+    @Column(name = "content", nullable = false)
+    private String content;
+
+    @Column(name = "message_created_at", nullable = false)
+    private LocalDateTime messageCreatedAt;
+
+    @Column(name = "seq", nullable = false)
+    private Long seq;
+
+    // 기록 시각 - DB 가 채움(앱 서버 시계와 무관), 폴링 기준 및 노드 간 지연 측정
+    @Column(name = "published_at", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "DATETIME(3) DEFAULT CURRENT_TIMESTAMP(3)")
+    private LocalDateTime publishedAt;
+}
@@ -7,7 +7,9 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "chat_message", indexes = {
-        @Index(name = "idx_chat_msg_room_created", columnList = "room_id, created_at DESC")
+        @Index(name = "idx_chat_msg_room_created_id", columnList = "room_id, created_at, id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_chat_msg_room_seq", columnNames = {"room_id", "seq"})
 })
 @Getter
 @Setter
@@ -16,7 +18,12 @@ import java.time.LocalDateTime;
 @Builder
 public class ChatMessage {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // IDENTITY 는 JDBC 배치가 불가능하므로 시퀀스(MySQL 에서는 테이블 에뮬레이션) + pooled 할당 사용
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chat_message_id_gen")
+    @SequenceGenerator(name = "chat_message_id_gen", sequenceName = "chat_message_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "room_id", nullable = false)
@@ -25,6 +32,10 @@ public class ChatMessage {
     @Column(name = "sender_id", nullable = false)
     private Long senderId;
 
+    // 방 내 순번(1부터 빈틈 없이 증가)
+    @Column(name = "seq")
+    private Long seq;
+
     @Column(nullable = false, length = 2000)
     private String content;
 
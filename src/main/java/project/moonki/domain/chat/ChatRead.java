@@ -29,6 +29,11 @@ public class ChatRead {
     @Column(name="last_read_at", nullable = false)
     private LocalDateTime lastReadAt;
 
+    // 읽음 워터마크: 이 순번까지 읽음. 방 미읽음 = chat_room.last_seq - last_read_seq
+    @Builder.Default
+    @Column(name="last_read_seq", nullable = false)
+    private Long lastReadSeq = 0L;
+
     @PrePersist
     public void prePersist() {
         if (lastReadAt == null) {
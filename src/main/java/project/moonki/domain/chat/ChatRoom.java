@@ -15,6 +15,8 @@ import java.time.LocalDateTime;
 @Builder
 public class ChatRoom {
 
+    public static final int PREVIEW_LENGTH = 100;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -28,6 +30,24 @@ public class ChatRoom {
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
+    // 방 내 마지막으로 발급된 메시지 순번(seq). saveMessage 에서 행 잠금 후 증가 -> 빈틈 없는 단조 증가
+    @Builder.Default
+    @Column(name = "last_seq", nullable = false)
+    private Long lastSeq = 0L;
+
+    // 방 목록(inbox) 조회용 마지막 메시지 비정규화 컬럼 - saveMessage 시 갱신
+    @Column(name = "last_message_id")
+    private Long lastMessageId;
+
+    @Column(name = "last_message_at")
+    private LocalDateTime lastMessageAt;
+
+    @Column(name = "last_sender_id")
+    private Long lastSenderId;
+
+    @Column(name = "last_message_preview", length = PREVIEW_LENGTH)
+    private String lastMessagePreview;
+
     public static ChatRoom dm(Long a, Long b) {
         // 정렬하여 유니크 보장
         long u1 = Math.min(a, b);
@@ -39,6 +59,22 @@ public class ChatRoom {
                 .build();
     }
 
+    /** 다음 메시지 순번 발급(호출 측에서 방 행 잠금 필요) */
+    public long nextSeq() {
+        this.lastSeq = (lastSeq == null ? 0L : lastSeq) + 1;
+        return lastSeq;
+    }
+
+    public void applyLastMessage(ChatMessage m) {
+        String content = m.getContent();
+        this.lastMessageId = m.getId();
+        this.lastMessageAt = m.getCreatedAt();
+        this.lastSenderId = m.getSenderId();
+        this.lastMessagePreview = (content != null && content.length() > PREVIEW_LENGTH)
+                ? content.substring(0, PREVIEW_LENGTH)
+                : content;
+    }
+
     public boolean hasParticipant(Long uid) {
         return user1Id.equals(uid) || user2Id.equals(uid);
     }
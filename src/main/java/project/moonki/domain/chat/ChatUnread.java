@@ -0,0 +1,41 @@
+package project.moonki.domain.chat;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 사용자별·방별 미읽음 카운터(집계 테이블).
+ * 메시지 저장 시 수신자 카운터를 +1, 읽음 처리 시 0으로 되돌린다.
+ * 원본은 chat_message/chat_read 이며 {@code ChatUnreadReconciler}가 주기적으로 재구성한다.
+ */
+@Entity
+@Table(name = "chat_unread",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"room_id", "user_id"}),
+        indexes = {
+                @Index(name = "idx_chat_unread_user", columnList = "user_id")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatUnread {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    // 카운터 소유자(수신자)
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // DM 상대(발신자)
+    @Column(name = "other_id", nullable = false)
+    private Long otherId;
+
+    @Builder.Default
+    @Column(name = "unread_count", nullable = false)
+    private Long unreadCount = 0L;
+}
@@ -46,10 +46,19 @@ public class MUser {
     @Column(nullable = false, length = 20)
     private Role role = Role.USER;
 
+    // 토큰 버전(비밀번호 변경 등으로 올리면 이전에 발급한 토큰은 무효)
+    @Builder.Default
+    @Column(name = "token_version", nullable = false)
+    private Long tokenVersion = 0L;
+
     public void changePassword(String encodedPw) {
         this.password = encodedPw;
     }
 
+    public void bumpTokenVersion() {
+        this.tokenVersion = (tokenVersion == null ? 0L : tokenVersion) + 1;
+    }
+
     public MUser(String username) {
         this.username = username;
     }
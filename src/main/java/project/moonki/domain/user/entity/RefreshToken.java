@@ -0,0 +1,57 @@
+package project.moonki.domain.user.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 리프레시 토큰(원문은 저장하지 않고 SHA-256 해시만 저장).
+ * 사용할 때마다 같은 family 의 새 토큰으로 교체(rotation)하고, 이미 교체된 토큰이 다시 오면 family 전체를 폐기한다.
+ */
+@Entity
+@Table(name = "refresh_token",
+        uniqueConstraints = @UniqueConstraint(name = "uk_refresh_token_hash", columnNames = "token_hash"),
+        indexes = {
+                @Index(name = "idx_refresh_token_family", columnList = "family_id"),
+                @Index(name = "idx_refresh_token_expires", columnList = "expires_at")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 사용자 PK
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    // 최초 로그인에서 이어진 교체 체인
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    // 발급 시점의 사용자 토큰 버전(비밀번호 변경 등으로 바뀌면 사용 불가)
+    @Column(name = "token_version", nullable = false)
+    private Long tokenVersion;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // 교체(사용)된 시각
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private boolean revoked = false;
+}
@@ -8,6 +8,7 @@ public record ChatMessageDto(
         Long senderId,
         String senderNickname,
         String content,
-        LocalDateTime createdAt
+        LocalDateTime createdAt,
+        Long seq
 ) {
 }
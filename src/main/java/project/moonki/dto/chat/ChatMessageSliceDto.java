@@ -0,0 +1,19 @@
+package project.moonki.dto.chat;
+
+import java.util.List;
+
+/**
+ * 커서 기반 메시지 조회 응답(전체 건수 없음)
+ *
+ * @param content    메시지 목록(before: 최신순, after: 오래된순)
+ * @param size       요청 크기
+ * @param hasNext    같은 방향으로 더 있는지 여부
+ * @param nextCursor 다음 요청에 사용할 메시지 id(없으면 null)
+ */
+public record ChatMessageSliceDto(
+        List<ChatMessageDto> content,
+        int size,
+        boolean hasNext,
+        Long nextCursor
+) {
+}
@@ -0,0 +1,28 @@
+package project.moonki.dto.chat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 방 단위 동기화 결과
+ *
+ * @param roomId        방 ID
+ * @param otherId       상대 사용자 ID
+ * @param lastSeq       방의 마지막 메시지 seq
+ * @param lastMessageAt 방의 마지막 메시지 시각
+ * @param otherReadSeq  상대가 읽은 위치(seq)
+ * @param unread        나의 미읽음 수
+ * @param messages      놓친 메시지(오래된순)
+ * @param truncated     놓친 메시지가 더 있음(커서 조회로 이어서 받거나 첫 페이지를 다시 조회)
+ */
+public record ChatRoomSyncDto(
+        Long roomId,
+        Long otherId,
+        long lastSeq,
+        LocalDateTime lastMessageAt,
+        long otherReadSeq,
+        long unread,
+        List<ChatMessageDto> messages,
+        boolean truncated
+) {
+}
@@ -0,0 +1,15 @@
+package project.moonki.dto.chat;
+
+/**
+ * 메시지 전송 실패 알림(/user/queue/errors, 보낸 사람에게만)
+ *
+ * @param roomId  전송 대상 방 ID
+ * @param status  HTTP 상태 코드 기준 실패 사유(403 참여자 아님, 404 방 없음, 503 저장 큐 가득 참, 500 그 외)
+ * @param message 실패 사유
+ */
+public record ChatSendErrorDto(
+        Long roomId,
+        int status,
+        String message
+) {
+}
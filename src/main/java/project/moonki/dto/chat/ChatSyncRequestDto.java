@@ -0,0 +1,16 @@
+package project.moonki.dto.chat;
+
+import java.util.Map;
+
+/**
+ * 재연결 동기화 요청
+ *
+ * @param rooms 방별로 마지막으로 받은 메시지 seq (roomId -> seq, 직전 응답의 cursor).
+ *              없으면 첫 동기화로 보고 방 상태만 반환, 있는데 빠진 방은 새 방으로 보고 처음(seq 0)부터 반환
+ * @param reads 방별로 마지막으로 받은 상대 읽음 seq (roomId -> seq), 없으면 모든 방의 읽음 상태를 반환
+ */
+public record ChatSyncRequestDto(
+        Map<Long, Long> rooms,
+        Map<Long, Long> reads
+) {
+}
@@ -0,0 +1,20 @@
+package project.moonki.dto.chat;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 재연결 동기화 응답
+ *
+ * @param rooms       변경이 있는 방(최근 메시지순)
+ * @param totalUnread 전체 미읽음 수
+ * @param cursor      방별로 클라이언트가 받은 것으로 볼 수 있는 마지막 seq(커밋된 seq 기준, 다음 요청의 rooms 로 사용)
+ * @param hasMore     방 개수 상한으로 일부 방이 빠짐(방 목록을 다시 조회)
+ */
+public record ChatSyncResponseDto(
+        List<ChatRoomSyncDto> rooms,
+        long totalUnread,
+        Map<Long, Long> cursor,
+        boolean hasMore
+) {
+}
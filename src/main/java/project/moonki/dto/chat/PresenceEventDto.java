@@ -0,0 +1,15 @@
+package project.moonki.dto.chat;
+
+import java.util.List;
+
+/**
+ * 접속 상태 변경 묶음(/topic/presence.{userId}, 받는 사용자의 DM 상대만)
+ *
+ * @param online  접속한 사용자 ID
+ * @param offline 접속이 끊긴 사용자 ID
+ */
+public record PresenceEventDto(
+        List<Long> online,
+        List<Long> offline
+) {
+}
@@ -5,5 +5,6 @@ public record UnreadEventDto(
         long total,
         long roomId,
         long senderId,
-        long bySender) {
+        long bySender,
+        long delta) {
 }
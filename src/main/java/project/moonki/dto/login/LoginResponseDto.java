@@ -11,15 +11,21 @@ public class LoginResponseDto {
 
     private final UserResponseDto user;
     private final String token;
+    private final String refreshToken;
 
     private String userId;
     private String username;
     private String email;
     private String kakaoId;
 
-    @Builder
     public LoginResponseDto(UserResponseDto user, String token) {
+        this(user, token, null);
+    }
+
+    @Builder
+    public LoginResponseDto(UserResponseDto user, String token, String refreshToken) {
         this.user = user;
         this.token = token;
+        this.refreshToken = refreshToken;
     }
 }
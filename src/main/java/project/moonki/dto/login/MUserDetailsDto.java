@@ -5,27 +5,39 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import project.moonki.domain.user.entity.MUser;
+import project.moonki.enums.Role;
 
 import java.util.Collection;
 import java.util.Collections;
 
+/**
+ * 인증 주체(경량). 토큰 claims(uid/role/ver)만으로 만들 수 있어 요청마다 사용자 조회가 필요 없다.
+ * 전체 엔티티가 필요한 서비스는 {@link #getId()} 로 직접 조회한다.
+ */
 @Getter
 public class MUserDetailsDto implements UserDetails {
-    private final MUser user;
+    private final Long id;            // 내부 PK
+    private final String userId;      // 로그인용 아이디
+    private final Role role;
+    private final long tokenVersion;
 
-    public MUserDetailsDto(MUser user) {
-        this.user = user;
+    public MUserDetailsDto(Long id, String userId, Role role, long tokenVersion) {
+        this.id = id;
+        this.userId = userId;
+        this.role = (role != null) ? role : Role.USER;
+        this.tokenVersion = tokenVersion;
     }
 
-    public MUser getUser() {
-        return user;
+    public MUserDetailsDto(MUser user) {
+        this(user.getId(), user.getUserId(), user.getRole(),
+                user.getTokenVersion() != null ? user.getTokenVersion() : 0L);
     }
 
     // UserDetails 필수 메소드 구현
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         // 예시: ROLE 정보 반환
-        return Collections.singleton(new SimpleGrantedAuthority(user.getRole().name()));
+        return Collections.singleton(new SimpleGrantedAuthority(role.name()));
     }
 
     @Override
@@ -35,7 +47,7 @@ public class MUserDetailsDto implements UserDetails {
 
     @Override
     public String getUsername() {
-        return user.getUserId(); //
+        return userId; //
     }
     @Override
     public boolean isAccountNonExpired() {
@@ -0,0 +1,6 @@
+package project.moonki.dto.login;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequestDto(@NotBlank String refreshToken) {
+}
@@ -0,0 +1,26 @@
+package project.moonki.repository.chat;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import project.moonki.domain.chat.ChatFanoutOutbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ChatFanoutOutboxRepository extends JpaRepository<ChatFanoutOutbox, Long> {
+
+    /** DB 현재 시각(published_at 과 같은 시계, ms 정밀도) */
+    @Query(value = "select now(3)", nativeQuery = true)
+    LocalDateTime dbNow();
+
+    /** 기준 시각 이후 다른 노드가 기록한 행(기록 시각, ID 오름차순) */
+    @Query("select o from ChatFanoutOutbox o where o.publishedAt > :since and o.nodeId <> :nodeId order by o.publishedAt asc, o.id asc")
+    List<ChatFanoutOutbox> findPublishedAfter(@Param("since") LocalDateTime since, @Param("nodeId") String nodeId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from ChatFanoutOutbox o where o.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
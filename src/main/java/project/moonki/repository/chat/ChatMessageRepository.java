@@ -3,11 +3,54 @@ package project.moonki.repository.chat;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import project.moonki.domain.chat.ChatMessage;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 public interface ChatMessageRepository  extends JpaRepository<ChatMessage,Long>{
     Page<ChatMessage> findByRoomIdOrderByCreatedAtDesc(Long roomId, Pageable pageable);
-    long countByRoomIdAndCreatedAtAfter(Long roomId, java.time.LocalDateTime after);
 
-    long countByRoomIdAndSenderIdAndCreatedAtAfter(Long roomId, Long senderId, java.time.LocalDateTime after);
+    /** 순번(seq)이 비어 있는 메시지가 남은 방(seq 도입 이전 데이터) */
+    @Query(value = "select distinct m.room_id from chat_message m where m.seq is null order by m.room_id", nativeQuery = true)
+    List<Long> findRoomIdsWithoutSeq();
+
+    /** 커서(createdAt, id) 이전 메시지 - 최신순, count 쿼리 없음 */
+    @Query("""
+            select m from ChatMessage m
+            where m.roomId = :roomId
+              and m.createdAt <= :createdAt
+              and (m.createdAt < :createdAt or m.id < :id)
+            order by m.createdAt desc, m.id desc
+            """)
+    List<ChatMessage> findBefore(@Param("roomId") Long roomId,
+                                 @Param("createdAt") LocalDateTime createdAt,
+                                 @Param("id") Long id,
+                                 Pageable pageable);
+
+    /** 커서(createdAt, id) 이후 메시지 - 오래된순, count 쿼리 없음 */
+    @Query("""
+            select m from ChatMessage m
+            where m.roomId = :roomId
+              and m.createdAt >= :createdAt
+              and (m.createdAt > :createdAt or m.id > :id)
+            order by m.createdAt asc, m.id asc
+            """)
+    List<ChatMessage> findAfter(@Param("roomId") Long roomId,
+                                @Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") Long id,
+                                Pageable pageable);
+
+    /** 순번(seq) 이후 메시지 - 순번순 (room_id, seq 유니크 인덱스) */
+    @Query("""
+            select m from ChatMessage m
+            where m.roomId = :roomId
+              and m.seq > :seq
+            order by m.seq asc
+            """)
+    List<ChatMessage> findAfterSeq(@Param("roomId") Long roomId,
+                                   @Param("seq") Long seq,
+                                   Pageable pageable);
 }
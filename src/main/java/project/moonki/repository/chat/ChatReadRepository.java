@@ -1,10 +1,26 @@
 package project.moonki.repository.chat;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import project.moonki.domain.chat.ChatRead;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ChatReadRepository extends JpaRepository<ChatRead, Long> {
     Optional<ChatRead> findByRoomIdAndUserId(Long roomId, Long userId);
+
+    /** 기존 데이터 마이그레이션: 순번을 다시 매긴 방의 워터마크를 last_read_at 기준으로 채우기 */
+    @Modifying
+    @Query(value = """
+            update chat_read cr
+            set cr.last_read_seq = (
+                select coalesce(max(m.seq), 0) from chat_message m
+                where m.room_id = cr.room_id and m.created_at <= cr.last_read_at
+            )
+            where cr.room_id in (:roomIds)
+            """, nativeQuery = true)
+    int backfillLastReadSeq(@Param("roomIds") List<Long> roomIds);
 }
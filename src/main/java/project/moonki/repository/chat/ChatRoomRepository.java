@@ -1,10 +1,83 @@
 package project.moonki.repository.chat;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import project.moonki.domain.chat.ChatRoom;
+import project.moonki.repository.chat.custom.ChatRoomRepositoryCustom;
 
+import java.util.List;
 import java.util.Optional;
 
-public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
+public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long>, ChatRoomRepositoryCustom {
     Optional<ChatRoom> findByUser1IdAndUser2Id(Long user1Id, Long user2Id);
+
+    /** 메시지 순번 발급용 행 잠금 조회(SELECT ... FOR UPDATE) */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from ChatRoom r where r.id = :id")
+    Optional<ChatRoom> findByIdForUpdate(@Param("id") Long id);
+
+    /** 사용자의 DM 상대 ID 목록(접속 상태 공개 범위) */
+    @Query("select case when r.user1Id = :userId then r.user2Id else r.user1Id end from ChatRoom r where r.user1Id = :userId or r.user2Id = :userId")
+    List<Long> findPartnerIds(@Param("userId") Long userId);
+
+    @Query("select coalesce(max(r.id), 0) from ChatRoom r")
+    long findMaxId();
+
+    /** ID 구간의 방 행을 ID 순으로 잠그고 ID 목록 반환(배치 작업용, 메시지 저장과 같은 잠금 순서) */
+    @Query(value = "select id from chat_room where id between :fromId and :toId order by id for update", nativeQuery = true)
+    List<Long> lockIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    /** 방의 마지막 메시지 순번만 조회(읽음 워터마크용) */
+    @Query("select r.lastSeq from ChatRoom r where r.id = :id")
+    Optional<Long> findLastSeqById(@Param("id") Long id);
+
+    /** 기존 데이터 마이그레이션: 방의 순번 비우기(다시 매길 때 (room_id, seq) 유니크 충돌 방지) */
+    @Modifying
+    @Query(value = "update chat_message m set m.seq = null where m.room_id in (:roomIds)", nativeQuery = true)
+    int clearMessageSeq(@Param("roomIds") List<Long> roomIds);
+
+    /** 기존 데이터 마이그레이션: 방의 모든 메시지에 (created_at, id) 순서로 순번 부여 */
+    @Modifying
+    @Query(value = """
+            update chat_message m
+            join (
+                select x.id, row_number() over (partition by x.room_id order by x.created_at, x.id) as rn
+                from chat_message x
+                where x.room_id in (:roomIds)
+            ) s on s.id = m.id
+            set m.seq = s.rn
+            """, nativeQuery = true)
+    int backfillMessageSeq(@Param("roomIds") List<Long> roomIds);
+
+    /** 기존 데이터 마이그레이션: 방 last_seq 채우기 */
+    @Modifying
+    @Query(value = """
+            update chat_room r
+            set r.last_seq = (select coalesce(max(m.seq), 0) from chat_message m where m.room_id = r.id)
+            where r.id in (:roomIds)
+            """, nativeQuery = true)
+    int backfillLastSeq(@Param("roomIds") List<Long> roomIds);
+
+    /** 지정 방 중 마지막 메시지 비정규화 컬럼이 비어있는 방 채우기(기존 데이터 마이그레이션) */
+    @Modifying
+    @Query(value = """
+            update chat_room r
+            join chat_message m on m.id = (
+                select m2.id from chat_message m2
+                where m2.room_id = r.id
+                order by m2.created_at desc, m2.id desc
+                limit 1
+            )
+            set r.last_message_id = m.id,
+                r.last_message_at = m.created_at,
+                r.last_sender_id = m.sender_id,
+                r.last_message_preview = left(m.content, 100)
+            where r.id in (:roomIds)
+              and r.last_message_id is null
+            """, nativeQuery = true)
+    int backfillLastMessage(@Param("roomIds") List<Long> roomIds);
 }
@@ -0,0 +1,58 @@
+package project.moonki.repository.chat;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import project.moonki.domain.chat.ChatUnread;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ChatUnreadRepository extends JpaRepository<ChatUnread, Long> {
+    Optional<ChatUnread> findByRoomIdAndUserId(Long roomId, Long userId);
+
+    List<ChatUnread> findByUserId(Long userId);
+
+    @Query("select coalesce(sum(u.unreadCount), 0) from ChatUnread u where u.userId = :userId")
+    long sumUnreadCountByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("update ChatUnread u set u.unreadCount = u.unreadCount + :delta where u.roomId = :roomId and u.userId = :userId")
+    int increment(@Param("roomId") Long roomId, @Param("userId") Long userId, @Param("delta") Long delta);
+
+    @Modifying
+    @Query("update ChatUnread u set u.unreadCount = 0 where u.roomId = :roomId and u.userId = :userId")
+    int reset(@Param("roomId") Long roomId, @Param("userId") Long userId);
+
+    /** 지정 방 중 카운터 행이 없는 (방, 참여자) 보충 - user1 기준 */
+    @Modifying
+    @Query(value = """
+            insert into chat_unread (room_id, user_id, other_id, unread_count)
+            select r.id, r.user1_id, r.user2_id, 0 from chat_room r
+            where r.id in (:roomIds)
+              and not exists (select 1 from chat_unread u where u.room_id = r.id and u.user_id = r.user1_id)
+            """, nativeQuery = true)
+    int insertMissingForUser1(@Param("roomIds") List<Long> roomIds);
+
+    /** 지정 방 중 카운터 행이 없는 (방, 참여자) 보충 - user2 기준 */
+    @Modifying
+    @Query(value = """
+            insert into chat_unread (room_id, user_id, other_id, unread_count)
+            select r.id, r.user2_id, r.user1_id, 0 from chat_room r
+            where r.id in (:roomIds)
+              and not exists (select 1 from chat_unread u where u.room_id = r.id and u.user_id = r.user2_id)
+            """, nativeQuery = true)
+    int insertMissingForUser2(@Param("roomIds") List<Long> roomIds);
+
+    /** 워터마크 기준 지정 방 카운터 재계산 */
+    @Modifying
+    @Query(value = """
+            update chat_unread u
+            join chat_room r on r.id = u.room_id
+            left join chat_read cr on cr.room_id = u.room_id and cr.user_id = u.user_id
+            set u.unread_count = greatest(r.last_seq - coalesce(cr.last_read_seq, 0), 0)
+            where u.room_id in (:roomIds)
+            """, nativeQuery = true)
+    int rebuildRooms(@Param("roomIds") List<Long> roomIds);
+}
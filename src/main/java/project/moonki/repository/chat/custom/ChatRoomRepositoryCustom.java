@@ -0,0 +1,12 @@
+package project.moonki.repository.chat.custom;
+
+import project.moonki.dto.chat.ChatRoomListItemDto;
+import project.moonki.dto.chat.ChatRoomSyncDto;
+
+import java.util.List;
+
+public interface ChatRoomRepositoryCustom {
+    List<ChatRoomListItemDto> findInbox(Long myId, int limit);
+
+    List<ChatRoomSyncDto> findSyncStates(Long myId, int limit);
+}
@@ -0,0 +1,111 @@
+package project.moonki.repository.chat.impl;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import project.moonki.domain.chat.QChatRead;
+import project.moonki.domain.chat.QChatRoom;
+import project.moonki.domain.chat.QChatUnread;
+import project.moonki.dto.chat.ChatMessageDto;
+import project.moonki.dto.chat.ChatRoomListItemDto;
+import project.moonki.dto.chat.ChatRoomSyncDto;
+import project.moonki.dto.chat.ChatUserItemDto;
+import project.moonki.repository.chat.custom.ChatRoomRepositoryCustom;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class ChatRoomRepositoryImpl implements ChatRoomRepositoryCustom {
+
+    private final JPAQueryFactory query;
+
+    /**
+     * 나의 채팅방 목록(inbox) - 단일 쿼리
+     * chat_unread(user_id 인덱스)에서 내 방만 고르고, 방의 마지막 메시지 비정규화 컬럼을 함께 읽는다.
+     * 정렬/LIMIT 은 DB에서 처리한다.
+     * 상대(other)는 ID만 채우고, 닉네임 등 요약과 마지막 메시지 발신자 닉네임은 호출 측에서 사용자 요약 캐시로 채운다.
+     *
+     * @param myId
+     * @param limit
+     * @return
+     */
+    @Override
+    public List<ChatRoomListItemDto> findInbox(Long myId, int limit) {
+        QChatUnread u = QChatUnread.chatUnread;
+        QChatRoom r = QChatRoom.chatRoom;
+
+        List<Tuple> rows = query
+                .select(r.id, r.lastMessageId, r.lastMessageAt, r.lastSenderId, r.lastMessagePreview, r.lastSeq,
+                        u.otherId, u.unreadCount)
+                .from(u)
+                .join(r).on(r.id.eq(u.roomId))
+                .where(u.userId.eq(myId))
+                .orderBy(r.lastMessageAt.desc().nullsLast(), r.id.desc())
+                .limit(limit > 0 ? limit : 50)
+                .fetch();
+
+        return rows.stream().map(t -> {
+            Long roomId = t.get(r.id);
+
+            Long otherId = t.get(u.otherId);
+            ChatUserItemDto otherDto = (otherId == null) ? null : new ChatUserItemDto(otherId, null, null, null, null);
+
+            ChatMessageDto lastDto = null;
+            if (t.get(r.lastMessageId) != null) {
+                lastDto = new ChatMessageDto(
+                        t.get(r.lastMessageId),
+                        roomId,
+                        t.get(r.lastSenderId),
+                        null,
+                        t.get(r.lastMessagePreview),
+                        t.get(r.lastMessageAt),
+                        t.get(r.lastSeq)
+                );
+            }
+
+            return new ChatRoomListItemDto(roomId, otherDto, lastDto, t.get(u.unreadCount));
+        }).toList();
+    }
+
+    /**
+     * 재연결 동기화용 방 상태 - 단일 쿼리
+     * 내 미읽음 카운터, 방 마지막 seq, 상대 읽음 워터마크를 함께 읽는다(메시지는 호출 측에서 채움).
+     *
+     * @param myId
+     * @param limit
+     * @return
+     */
+    @Override
+    public List<ChatRoomSyncDto> findSyncStates(Long myId, int limit) {
+        QChatUnread u = QChatUnread.chatUnread;
+        QChatRoom r = QChatRoom.chatRoom;
+        QChatRead otherRead = new QChatRead("otherRead");
+
+        List<Tuple> rows = query
+                .select(r.id, u.otherId, r.lastSeq, r.lastMessageAt, otherRead.lastReadSeq, u.unreadCount)
+                .from(u)
+                .join(r).on(r.id.eq(u.roomId))
+                .leftJoin(otherRead).on(otherRead.roomId.eq(u.roomId).and(otherRead.userId.eq(u.otherId)))
+                .where(u.userId.eq(myId))
+                .orderBy(r.lastMessageAt.desc().nullsLast(), r.id.desc())
+                .limit(limit > 0 ? limit : 50)
+                .fetch();
+
+        return rows.stream().map(t -> new ChatRoomSyncDto(
+                t.get(r.id),
+                t.get(u.otherId),
+                nz(t.get(r.lastSeq)),
+                t.get(r.lastMessageAt),
+                nz(t.get(otherRead.lastReadSeq)),
+                nz(t.get(u.unreadCount)),
+                List.of(),
+                false
+        )).toList();
+    }
+
+    private static long nz(Long v) {
+        return v == null ? 0L : v;
+    }
+}
@@ -1,9 +1,14 @@
 package project.moonki.repository.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import project.moonki.domain.user.entity.MUser;
+import project.moonki.dto.chat.ChatUserItemDto;
 import project.moonki.repository.user.custom.MuserRepositoryCustom;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface MuserRepository extends JpaRepository<MUser, Long>, MuserRepositoryCustom {
@@ -16,4 +21,12 @@ public interface MuserRepository extends JpaRepository<MUser, Long>, MuserReposi
     Optional<MUser> findByEmail(String email);
     boolean existsByEmail(String email);
 
+    // 채팅 렌더링용 사용자 요약(엔티티/프로필 이미지 로딩 없이 필요한 컬럼만)
+    @Query("""
+            select new project.moonki.dto.chat.ChatUserItemDto(u.id, u.nickname, u.username, u.email, img.id)
+            from MUser u left join u.profileImage img
+            where u.id in :ids
+            """)
+    List<ChatUserItemDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
 }
@@ -1,5 +1,6 @@
 package project.moonki.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -12,12 +13,13 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
+import project.moonki.components.user.PrincipalCache;
 import project.moonki.domain.user.entity.MUser;
 import project.moonki.dto.login.MUserDetailsDto;
-import project.moonki.repository.user.MuserRepository;
 import project.moonki.utils.LogUtil;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Slf4j
 @Component
@@ -25,18 +27,23 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final MuserRepository muserRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) {
         try {
             String token = resolveToken(request);
 
-            if (token != null && jwtTokenProvider.validateToken(token)) {
-                String userId = jwtTokenProvider.getUserId(token);
+            // 서명 검증/파싱은 한 번만(검증된 토큰은 캐시)
+            Optional<Claims> claims = jwtTokenProvider.verify(token);
+            if (claims.isPresent()) {
+                // claims(uid/ver) -> 인증 주체 캐시(토큰 버전 일치 시만), 이전 형식 토큰은 아이디로 조회
+                Optional<MUserDetailsDto> fromToken = jwtTokenProvider.toPrincipal(claims.get());
+                Optional<MUserDetailsDto> principal = fromToken.isPresent()
+                        ? principalCache.verify(fromToken.get())
+                        : principalCache.findByUserId(claims.get().getSubject());
 
-                muserRepository.findByUserId(userId).ifPresent(user -> {
-                    MUserDetailsDto userDetails = new MUserDetailsDto(user);
+                principal.ifPresent(userDetails -> {
                     UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
                     auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
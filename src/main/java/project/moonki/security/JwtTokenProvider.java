@@ -1,16 +1,25 @@
 package project.moonki.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import project.moonki.domain.user.entity.MUser;
+import project.moonki.dto.login.MUserDetailsDto;
+import project.moonki.enums.Role;
+import project.moonki.utils.HashUtil;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A utility class for handling JSON Web Tokens (JWT) operations such as creation, validation,
@@ -18,55 +27,130 @@ import java.util.Date;
  *
  * This class is a Spring component and provides methods to:
  * - Create a JWT token with a specified expiration time.
+ * - Verify a token once and return its claims ({@link #verify(String)}).
  * - Validate existing JWT tokens for correctness.
  * - Extract user-specific details (userId) from a JWT token.
+ * - Build a lightweight principal from the uid/role/ver claims ({@link #toPrincipal(Claims)}).
+ *
+ * The parser is built once. Recently verified tokens are cached by the SHA-256 of the token
+ * until their own expiration, so repeated requests with the same bearer token skip the
+ * signature check and claims parsing.
  */
 @Component
-public class JwtTokenProvider {private final SecretKey key;        // HS256용 키
+public class JwtTokenProvider {
+
+    public static final String CLAIM_UID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_VER = "ver";
+
+    private final SecretKey key;        // HS256용 키
     private final long expirationMillis;
+    private final JwtParser parser;
+
+    // 검증된 토큰: SHA-256(token) -> claims, 토큰 만료 시각까지만 보관
+    private final Cache<String, Claims> verified;
 
     // 설정/환경변수에서 주입되며, 값 미지정 시 기존 하드코딩 값으로 fallback
     public JwtTokenProvider(
             @Value("${jwt.secret:zQclYAzXpC5mAuOOx/SeTQnFdzt9N1RDe7T4uzjQfhg=}") String base64Secret,
-            @Value("${jwt.expiration-ms:1800000}") long expirationMillis // 기본 30분
+            @Value("${jwt.expiration-ms:1800000}") long expirationMillis, // 기본 30분
+            @Value("${jwt.verified-cache.max-size:10000}") long verifiedCacheSize
     ) {
         // Base64 디코딩된 바이트로 HMAC 키 생성 (256비트 이상 권장)
         this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
         this.expirationMillis = expirationMillis;
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String k, Claims claims, long currentTime) {
+                        long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, remainingMs));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String k, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String k, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
-    // 토큰 생성
-    public String generateToken(String userId) {
+    // 토큰 생성: subject=userId, 사용자 PK/권한/토큰 버전 포함
+    public String generateToken(MUser user) {
         Date now = new Date();
+        Role role = (user.getRole() != null) ? user.getRole() : Role.USER;
         return Jwts.builder()
-                .subject(userId)
+                .subject(user.getUserId())
+                .claim(CLAIM_UID, user.getId())
+                .claim(CLAIM_ROLE, role.name())
+                .claim(CLAIM_VER, user.getTokenVersion() != null ? user.getTokenVersion() : 0L)
                 .issuedAt(now)
                 .expiration(new Date(now.getTime() + expirationMillis))
                 .signWith(key)
                 .compact();
     }
 
-    // 토큰 검증 (서명/만료 모두 검증)
-    public boolean validateToken(String token) {
+    /**
+     * 토큰 검증(서명/만료) 후 claims 반환 - 한 번만 파싱하고, 검증된 토큰은 만료 시각까지 캐시
+     *
+     * @param token
+     * @return 유효하면 claims, 아니면 empty
+     */
+    public Optional<Claims> verify(String token) {
+        if (token == null || token.isBlank()) return Optional.empty();
+        String hash = HashUtil.sha256Hex(token);
+        Claims cached = verified.getIfPresent(hash);
+        if (cached != null && cached.getExpiration().getTime() > System.currentTimeMillis()) {
+            return Optional.of(cached);
+        }
         try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (claims.getExpiration() != null) verified.put(hash, claims);
+            return Optional.of(claims);
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
+        }
+    }
+
+    /** 검증 캐시에 보관 중인 토큰 수(테스트/점검용) */
+    long cachedTokens() {
+        verified.cleanUp();
+        return verified.estimatedSize();
+    }
+
+    /**
+     * claims 로 경량 인증 주체 생성(DB 조회 없음)
+     *
+     * @param claims 검증된 claims
+     * @return uid/role 이 없는 이전 형식 토큰이면 empty
+     */
+    public Optional<MUserDetailsDto> toPrincipal(Claims claims) {
+        Long uid = claims.get(CLAIM_UID, Long.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (uid == null || role == null) return Optional.empty();
+        Long ver = claims.get(CLAIM_VER, Long.class);
+        try {
+            return Optional.of(new MUserDetailsDto(uid, claims.getSubject(), Role.valueOf(role), ver != null ? ver : 0L));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
         }
     }
 
+    // 토큰 검증 (서명/만료 모두 검증)
+    public boolean validateToken(String token) {
+        return verify(token).isPresent();
+    }
+
     // 토큰에서 userId(subject) 추출
     public String getUserId(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
+        return verify(token).map(Claims::getSubject)
+                .orElseThrow(() -> new JwtException("유효하지 않은 토큰입니다."));
     }
 }
-
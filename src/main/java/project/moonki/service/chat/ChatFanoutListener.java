@@ -0,0 +1,108 @@
+package project.moonki.service.chat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import project.moonki.components.chat.fanout.ChatFanout;
+import project.moonki.components.user.UserSummaryCache;
+import project.moonki.domain.chat.ChatMessage;
+import project.moonki.dto.chat.ChatMessageDto;
+import project.moonki.dto.chat.ChatUserItemDto;
+import project.moonki.utils.LogUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 커밋 후 채팅 브로드캐스트(fanout).
+ *
+ * - 메시지 저장 트랜잭션이 커밋된 뒤에만 {@link ChatFanout} 으로 방 토픽 발행 + 미읽음 알림을 보낸다(롤백된 메시지는 나가지 않음).
+ * - 전용 lane(단일 스레드)에서 실행하고 roomId 해시로 배정해 방 안의 순서를 지킨다.
+ *   저장한 스레드(inbound lane, 배치 writer)는 커밋 직후 바로 다음 프레임 처리로 돌아간다.
+ * - lane 대기열이 가득 차면 해당 방송은 버리고 집계한다(chat.fanout.rejected). 클라이언트는 seq 공백을 보고 /sync 로 복구한다.
+ */
+@Slf4j
+@Component
+public class ChatFanoutListener {
+
+    private final UserSummaryCache users;
+    private final ChatFanout fanout;
+
+    private final List<ThreadPoolExecutor> lanes;
+    private final Counter rejected;
+
+    public ChatFanoutListener(
+            UserSummaryCache users,
+            ChatFanout fanout,
+            MeterRegistry meterRegistry,
+            @Value("${chat.fanout.lanes:0}") int laneCount,
+            @Value("${chat.fanout.lane-queue-capacity:10000}") int queueCapacity
+    ) {
+        this.users = users;
+        this.fanout = fanout;
+
+        int n = (laneCount > 0) ? laneCount : Runtime.getRuntime().availableProcessors();
+        List<ThreadPoolExecutor> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            ThreadPoolExecutor lane = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    new CustomizableThreadFactory("chat-fanout-" + i + "-"));
+            Gauge.builder("chat.fanout.lane.queue", lane, e -> e.getQueue().size())
+                    .tag("lane", String.valueOf(i))
+                    .description("커밋 후 브로드캐스트 대기 작업 수")
+                    .register(meterRegistry);
+            list.add(lane);
+        }
+        this.lanes = List.copyOf(list);
+        this.rejected = Counter.builder("chat.fanout.rejected")
+                .description("fanout lane 대기열이 가득 차 버려진 브로드캐스트 수")
+                .register(meterRegistry);
+    }
+
+    /** 커밋 후 호출: 메시지별로 방 lane 에 브로드캐스트 작업 배정 */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSaved(ChatMessagesSavedEvent event) {
+        for (ChatMessage saved : event.messages()) {
+            ThreadPoolExecutor lane = lanes.get(Math.floorMod(saved.getRoomId().hashCode(), lanes.size()));
+            try {
+                lane.execute(() -> broadcast(saved));
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+                log.warn("[ChatFanoutListener] fanout rejected: roomId={}, seq={}", saved.getRoomId(), saved.getSeq());
+            }
+        }
+    }
+
+    private void broadcast(ChatMessage saved) {
+        try {
+            Long senderId = saved.getSenderId();
+            String nickname = users.get(senderId).map(ChatUserItemDto::nickname).orElse("unknown");
+
+            fanout.publish(new ChatMessageDto(
+                    saved.getId(), saved.getRoomId(), senderId,
+                    nickname, saved.getContent(), saved.getCreatedAt(), saved.getSeq()
+            ));
+        } catch (Exception e) {
+            LogUtil.error(log, ChatFanoutListener.class, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        lanes.forEach(ThreadPoolExecutor::shutdown);
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package project.moonki.service.chat;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import project.moonki.domain.chat.ChatMessage;
+import project.moonki.utils.LogUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * 채팅 메시지 그룹 커밋 writer (chat.batch.enabled=true 일 때만 동작).
+ *
+ * 수신한 메시지를 큐에 모았다가 최대 max-size 건 또는 max-linger-ms 경과 시 한 트랜잭션으로 저장한다.
+ * 각 요청의 CompletableFuture 는 배치가 커밋된 뒤 완료된다(브로드캐스트는 커밋 이벤트로 ChatFanoutListener 가 처리).
+ * 배치가 실패하면 메시지별로 다시 저장해 실패 원인(403/404 등)을 해당 요청에만 전달한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatMessageBatchWriter {
+
+    private final ChatService chatService;
+
+    @Value("${chat.batch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${chat.batch.max-size:32}")
+    private int maxBatchSize;
+
+    @Value("${chat.batch.max-linger-ms:5}")
+    private long maxLingerMs;
+
+    @Value("${chat.batch.queue-capacity:10000}")
+    private int queueCapacity;
+
+    private BlockingQueue<Pending> queue;
+    private ExecutorService writer;
+    // 완료 콜백은 writer 스레드가 아닌 별도 단일 스레드에서 순서대로 실행
+    private ExecutorService acknowledger;
+    private volatile boolean running;
+
+    private record Pending(ChatService.SendCommand command, CompletableFuture<ChatMessage> future) {}
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        writer = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("chat-batch-writer-"));
+        acknowledger = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("chat-batch-ack-"));
+        running = true;
+        writer.execute(this::loop);
+        log.info("[ChatMessageBatchWriter] enabled - maxBatchSize={}, maxLingerMs={}", maxBatchSize, maxLingerMs);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 메시지 저장 요청 등록
+     *
+     * @param roomId
+     * @param senderId
+     * @param content
+     * @return 배치 커밋 후 저장된 메시지로 완료되는 future
+     */
+    public CompletableFuture<ChatMessage> submit(Long roomId, Long senderId, String content) {
+        CompletableFuture<ChatMessage> future = new CompletableFuture<>();
+        if (!running || !queue.offer(new Pending(new ChatService.SendCommand(roomId, senderId, content), future))) {
+            future.completeExceptionally(new RejectedExecutionException("메시지 저장 큐가 가득 찼습니다."));
+        }
+        return future;
+    }
+
+    private void loop() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxLingerMs);
+                while (batch.size() < maxBatchSize) {
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) continue;
+                    long remain = deadline - System.nanoTime();
+                    if (remain <= 0) break;
+                    Pending next = queue.poll(remain, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                LogUtil.error(log, ChatMessageBatchWriter.class, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        List<Pending> snapshot = List.copyOf(batch);
+        try {
+            List<ChatMessage> saved = chatService.saveMessages(snapshot.stream().map(Pending::command).toList());
+            acknowledger.execute(() -> {
+                for (int i = 0; i < snapshot.size(); i++) {
+                    snapshot.get(i).future().complete(saved.get(i));
+                }
+            });
+        } catch (Exception e) {
+            // 배치 실패 -> 메시지별 저장으로 실패 격리
+            log.warn("[ChatMessageBatchWriter] batch of {} failed, retrying one by one: {}", snapshot.size(), e.getMessage());
+            for (Pending p : snapshot) {
+                ChatService.SendCommand c = p.command();
+                try {
+                    ChatMessage one = chatService.saveMessage(c.roomId(), c.senderId(), c.content());
+                    acknowledger.execute(() -> p.future().complete(one));
+                } catch (Exception ex) {
+                    acknowledger.execute(() -> p.future().completeExceptionally(ex));
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!enabled) return;
+        running = false;
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+        acknowledger.shutdown();
+        acknowledger.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,46 @@
+package project.moonki.service.chat;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import project.moonki.domain.chat.ChatFanoutOutbox;
+import project.moonki.domain.chat.ChatMessage;
+import project.moonki.utils.LogUtil;
+
+/**
+ * ID 시퀀스(chat_message_id_seq, chat_fanout_outbox_id_seq) 정렬.
+ * IDENTITY 로 저장된 기존 행과 충돌하지 않도록 시퀀스 값을 테이블의 max(id) 이후로 끌어올린다(이미 크면 유지).
+ * 모든 싱글톤 생성(스키마 반영 포함) 직후, 웹 서버/브로커/스케줄러가 시작되기 전에 실행하며
+ * 정렬하지 못하면 기동을 실패시킨다(정렬 전 메시지 저장으로 ID 가 충돌하지 않도록).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatMessageIdAligner implements SmartInitializingSingleton {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            align("chat_message_id_seq", "chat_message", ChatMessage.ID_ALLOCATION_SIZE);
+            align("chat_fanout_outbox_id_seq", "chat_fanout_outbox", ChatFanoutOutbox.ID_ALLOCATION_SIZE);
+        } catch (Exception e) {
+            LogUtil.error(log, ChatMessageIdAligner.class, e);
+            throw e;
+        }
+    }
+
+    private void align(String sequenceTable, String table, int allocationSize) {
+        int updated = jdbcTemplate.update("""
+                update %s
+                set next_val = greatest(next_val, (select coalesce(max(id), 0) + ? from %s))
+                """.formatted(sequenceTable, table), allocationSize + 1);
+        if (updated == 0) {
+            throw new IllegalStateException(sequenceTable + " 행이 없어 ID 시퀀스를 정렬할 수 없습니다.");
+        }
+        log.info("[ChatMessageIdAligner] {} aligned (rows={})", sequenceTable, updated);
+    }
+}
@@ -0,0 +1,11 @@
+package project.moonki.service.chat;
+
+import project.moonki.domain.chat.ChatMessage;
+
+import java.util.List;
+
+/**
+ * 메시지 저장 이벤트(한 트랜잭션에서 저장된 메시지, 저장 순서).
+ * 커밋된 뒤에만 {@link ChatFanoutListener} 가 브로드캐스트한다.
+ */
+public record ChatMessagesSavedEvent(List<ChatMessage> messages) {}
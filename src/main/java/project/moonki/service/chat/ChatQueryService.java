@@ -2,27 +2,27 @@ package project.moonki.service.chat;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
+import project.moonki.components.chat.PresenceRegistry;
+import project.moonki.components.chat.ReadReceiptBuffer;
+import project.moonki.components.chat.RoomParticipantCache;
+import project.moonki.components.user.UserSummaryCache;
 import project.moonki.domain.chat.ChatMessage;
-import project.moonki.domain.chat.ChatRead;
 import project.moonki.domain.chat.ChatRoom;
 import project.moonki.domain.user.entity.MUser;
 import project.moonki.dto.chat.*;
-import project.moonki.repository.chat.ChatMessageRepository;
-import project.moonki.repository.chat.ChatReadRepository;
 import project.moonki.repository.chat.ChatRoomRepository;
 import project.moonki.repository.user.MuserRepository;
 import project.moonki.utils.LogUtil;
 
-import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -35,8 +35,22 @@ public class ChatQueryService {
     private final ChatService chatService;
     private final ChatRoomRepository chatRoomRepository;
     private final MuserRepository muserRepository;
-    private final ChatMessageRepository chatMessageRepository;
-    private final ChatReadRepository chatReadRepository;
+    private final ReadReceiptBuffer readReceiptBuffer;
+    private final RoomParticipantCache roomParticipantCache;
+    private final UserSummaryCache userSummaryCache;
+    private final PresenceRegistry presenceRegistry;
+
+    @Value("${chat.messages.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${chat.sync.max-rooms:200}")
+    private int syncMaxRooms;
+
+    @Value("${chat.sync.max-messages-per-room:50}")
+    private int syncMaxMessagesPerRoom;
+
+    @Value("${chat.sync.max-messages:500}")
+    private int syncMaxMessages;
 
     /** 사용자 검색(내 계정 제외) + 미읽음 보낸 사람 우선 정렬 */
     public List<ChatUserItemDto> listUsersWithUnreadFirst(Long myId, String q, int limit) {
@@ -86,25 +100,36 @@ public class ChatQueryService {
         try {
             assertParticipant(roomId, myId);
 
-            Page<ChatMessage> slice = chatService.getMessages(roomId, page, size);
-
-            // 발신자 일괄 조회 후 매핑
-            Set<Long> senderIds = slice.getContent().stream().map(ChatMessage::getSenderId).collect(Collectors.toSet());
-            Map<Long, MUser> senderMap = muserRepository.findAllById(senderIds).stream()
-                    .collect(Collectors.toMap(MUser::getId, u -> u));
-
-            List<ChatMessageDto> content = slice.getContent().stream()
-                    .map(m -> new ChatMessageDto(
-                            m.getId(),
-                            m.getRoomId(),
-                            m.getSenderId(),
-                            Optional.ofNullable(senderMap.get(m.getSenderId()))
-                                    .map(MUser::getNickname).orElse(null),
-                            m.getContent(),
-                            m.getCreatedAt()))
-                    .toList();
+            int limit = pageSize(size);
+            Page<ChatMessage> slice = chatService.getMessages(roomId, page, limit);
+            List<ChatMessageDto> content = toMessageDtos(slice.getContent());
+
+            return new PageImpl<>(content, PageRequest.of(page, limit), slice.getTotalElements());
+        } catch (ResponseStatusException e) {
+            LogUtil.error(log, ChatQueryService.class, e);
+            throw e;
+        } catch (Exception e) {
+            LogUtil.error(log, ChatQueryService.class, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "메시지 조회 중 오류가 발생했습니다.", e);
+        }
+
+    }
 
-            return new PageImpl<>(content, PageRequest.of(page, size), slice.getTotalElements());
+    /** 방 메시지 커서 조회 - before(과거 방향) / after(최신 방향) */
+    public ChatMessageSliceDto getRoomMessagesByCursor(Long myId, Long roomId, Long before, Long after, int size) {
+        try {
+            assertParticipant(roomId, myId);
+
+            int limit = pageSize(size);
+            Slice<ChatMessage> slice = (before != null)
+                    ? chatService.getMessagesBefore(roomId, before, limit)
+                    : chatService.getMessagesAfter(roomId, after, limit);
+
+            List<ChatMessageDto> content = toMessageDtos(slice.getContent());
+            Long nextCursor = (slice.hasNext() && !content.isEmpty())
+                    ? content.get(content.size() - 1).id()
+                    : null;
+            return new ChatMessageSliceDto(content, limit, slice.hasNext(), nextCursor);
         } catch (ResponseStatusException e) {
             LogUtil.error(log, ChatQueryService.class, e);
             throw e;
@@ -112,7 +137,11 @@ public class ChatQueryService {
             LogUtil.error(log, ChatQueryService.class, e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "메시지 조회 중 오류가 발생했습니다.", e);
         }
+    }
 
+    /** 요청한 메시지 개수를 1 ~ max-page-size 로 제한 */
+    private int pageSize(int size) {
+        return Math.min(Math.max(1, size), maxPageSize);
     }
 
     /** 읽음 처리 */
@@ -130,6 +159,10 @@ public class ChatQueryService {
     }
 
     /**
+     * 나의 채팅방 목록
+     * chat_room 비정규화 컬럼(last_message_*)과 chat_unread 카운터를 단일 쿼리로 읽고, 정렬/LIMIT 은 DB에서 처리
+     * 상대/발신자 요약은 사용자 요약 캐시에서 일괄 조회
+     * 아직 DB에 반영되지 않은 읽음 워터마크는 마지막 메시지 seq 기준으로 보정
      *
      * @param myId
      * @param limit
@@ -138,74 +171,124 @@ public class ChatQueryService {
     @Transactional(readOnly = true)
     public List<ChatRoomListItemDto> myRooms(Long myId, int limit) {
         try {
-            // 내가 참가자인 방만 필터
-            List<ChatRoom> all = chatRoomRepository.findAll().stream()
-                    .filter(r -> r.hasParticipant(myId))
-                    .toList();
+            List<ChatRoomListItemDto> items = chatRoomRepository.findInbox(myId, Math.max(1, limit));
 
-            return all.stream()
-                    .map(r -> {
-                        Long otherId = r.otherOf(myId);
-
-                        // 상대 요약
-                        MUser other = muserRepository.findById(otherId).orElse(null);
-                        ChatUserItemDto otherDto = (other == null) ? null : new ChatUserItemDto(
-                                other.getId(),
-                                other.getNickname(),
-                                other.getUsername(),
-                                other.getEmail(),
-                                (other.getProfileImage() != null) ? other.getProfileImage().getId() : null
-                        );
-
-                        // 마지막 메시지(최신 1건) - chatService.getMessages()가 최신정렬(내림차순) 1건을 반환한다고 가정
-                        Page<ChatMessage> lastPage = chatService.getMessages(r.getId(), 0, 1);
-                        ChatMessage last = lastPage.getContent().isEmpty() ? null : lastPage.getContent().get(0);
-
-                        ChatMessageDto lastDto = null;
+            Set<Long> userIds = new HashSet<>();
+            userIds.add(myId);
+            items.forEach(it -> {
+                if (it.other() != null) userIds.add(it.other().id());
+            });
+            Map<Long, ChatUserItemDto> users = userSummaryCache.getAll(userIds);
+            Map<Long, Long> pending = readReceiptBuffer.pendingFor(myId);
+
+            return items.stream()
+                    .map(it -> {
+                        ChatUserItemDto other = (it.other() == null) ? null : users.get(it.other().id());
+                        ChatMessageDto last = it.lastMessage();
+                        long unread = it.unread();
                         if (last != null) {
-                            // 엔티티에 senderNickname 필드가 없을 수 있으므로 별도 조회
-                            String senderNickname = muserRepository.findById(last.getSenderId())
-                                    .map(MUser::getNickname)
-                                    .orElse(null);
-
-                            lastDto = new ChatMessageDto(
-                                    last.getId(),
-                                    r.getId(),
-                                    last.getSenderId(),
-                                    senderNickname,
-                                    last.getContent(),
-                                    last.getCreatedAt()
-                            );
+                            ChatUserItemDto sender = users.get(last.senderId());
+                            last = new ChatMessageDto(last.id(), last.roomId(), last.senderId(),
+                                    sender != null ? sender.nickname() : null,
+                                    last.content(), last.createdAt(), last.seq());
+
+                            Long buffered = pending.get(it.id());
+                            if (buffered != null && last.seq() != null) {
+                                unread = Math.min(unread, Math.max(0L, last.seq() - buffered));
+                            }
                         }
+                        return new ChatRoomListItemDto(it.id(), other, last, unread);
+                    })
+                    .toList();
+        } catch (Exception e) {
+            LogUtil.error(log, ChatQueryService.class, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "나의 채팅방 조회 실패", e);
+        }
+    }
 
-                        // 미읽음 계산(상대가 보낸 메시지만 카운트)
-                        LocalDateTime lastRead = chatReadRepository
-                                .findByRoomIdAndUserId(r.getId(), myId)
-                                .map(ChatRead::getLastReadAt)
-                                .orElse(LocalDateTime.MIN);
+    /**
+     * 재연결 동기화
+     * 방 상태(마지막 seq, 상대 읽음 위치, 미읽음)를 단일 쿼리로 읽고, 클라이언트가 보낸 방별 seq 이후 메시지만 채운다.
+     * seq 는 방 잠금 아래에서 커밋 순서대로 증가하므로(last_seq 도 같은 트랜잭션에서 갱신) 커밋이 늦은 메시지를 건너뛰지 않는다.
+     * 방 개수/방당 메시지/전체 메시지 상한을 넘는 부분은 hasMore/truncated 로 알리고, cursor 는 실제로 보낸 위치까지만 올린다.
+ * 방 개수 상한으로 이번에 보지 못한 방은 요청의 seq 를 cursor 에 그대로 남긴다.
+     *
+     * @param myId
+     * @param req
+     * @return
+     */
+    public ChatSyncResponseDto sync(Long myId, ChatSyncRequestDto req) {
+        try {
+            Map<Long, Long> knownSeq = req.rooms();
+            Map<Long, Long> knownReads = req.reads();
+            Map<Long, Long> cursor = new LinkedHashMap<>();
 
-                        long unread = chatMessageRepository
-                                .countByRoomIdAndSenderIdAndCreatedAtAfter(r.getId(), otherId, lastRead);
+            List<ChatRoomSyncDto> states = chatRoomRepository.findSyncStates(myId, syncMaxRooms + 1);
+            boolean hasMore = states.size() > syncMaxRooms;
+            if (hasMore) states = states.subList(0, syncMaxRooms);
 
-                        return new ChatRoomListItemDto(r.getId(), otherDto, lastDto, unread);
-                    })
-                    .sorted(Comparator.comparing((ChatRoomListItemDto it) -> {
-                        if (it.lastMessage() == null || it.lastMessage().createdAt() == null) {
-                            return Instant.EPOCH;
-                        }
-                        // createdAt이 LocalDateTime이라 가정
-                        return it.lastMessage().createdAt()
-                                .atZone(ZoneId.systemDefault())
-                                .toInstant();
-                    }).reversed())
-                    .limit(Math.max(1, limit))
-                    .toList();
+            Map<Long, Long> myPending = readReceiptBuffer.pendingFor(myId);
+            int budget = syncMaxMessages;
+            long total = 0;
+            List<ChatRoomSyncDto> changed = new ArrayList<>();
+
+            for (ChatRoomSyncDto st : states) {
+                Long roomId = st.roomId();
+                long unread = Optional.ofNullable(myPending.get(roomId))
+                        .map(buffered -> Math.min(st.unread(), Math.max(0L, st.lastSeq() - buffered)))
+                        .orElse(st.unread());
+                long otherReadSeq = Math.max(st.otherReadSeq(),
+                        readReceiptBuffer.pendingFor(st.otherId()).getOrDefault(roomId, 0L));
+                total += unread;
+
+                // 첫 동기화는 방 상태만(메시지는 방 조회 API 로), 이후 요청에 없는 방은 새 방이므로 처음부터
+                Long seen = (knownSeq == null) ? null : knownSeq.getOrDefault(roomId, 0L);
+                boolean hasNewMessages = seen != null && st.lastSeq() > seen;
+                boolean readChanged = knownReads == null || otherReadSeq > knownReads.getOrDefault(roomId, 0L);
+                cursor.put(roomId, (seen == null) ? st.lastSeq() : seen);
+                if (!hasNewMessages && !readChanged && seen != null) continue;
+
+                List<ChatMessageDto> messages = List.of();
+                boolean truncated = false;
+                if (hasNewMessages) {
+                    int size = Math.min(syncMaxMessagesPerRoom, budget);
+                    if (size <= 0) {
+                        truncated = true;
+                    } else {
+                        Slice<ChatMessage> slice = chatService.getMessagesAfterSeq(roomId, seen, st.lastSeq(), size);
+                        messages = toMessageDtos(slice.getContent());
+                        truncated = slice.hasNext();
+                        budget -= messages.size();
+                        if (!messages.isEmpty()) cursor.put(roomId, messages.get(messages.size() - 1).seq());
+                    }
+                }
+                changed.add(new ChatRoomSyncDto(roomId, st.otherId(), st.lastSeq(), st.lastMessageAt(),
+                        otherReadSeq, unread, messages, truncated));
+            }
+
+            // 방 상한에 걸려 빠진 방은 클라이언트가 보낸 위치를 그대로 돌려줌(다음 요청에서 처음부터 다시 받지 않도록)
+            if (hasMore && knownSeq != null) {
+                knownSeq.forEach(cursor::putIfAbsent);
+            }
 
+            // 방 상한에 걸려 일부 방이 빠졌으면 전체 미읽음은 카운터 합계로
+            long totalUnread = hasMore ? chatService.countUnreadForUser(myId) : total;
+            return new ChatSyncResponseDto(changed, totalUnread, cursor, hasMore);
+        } catch (ResponseStatusException e) {
+            LogUtil.error(log, ChatQueryService.class, e);
+            throw e;
         } catch (Exception e) {
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "나의 채팅방 조회 실패", e);
+            LogUtil.error(log, ChatQueryService.class, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "동기화 중 오류가 발생했습니다.", e);
         }
     }
 
+    /** 주어진 사용자 중 접속 중인 사용자 ID(내 DM 상대만, 그 외 사용자는 제외) */
+    public Set<Long> onlineUsers(Long myId, List<Long> userIds) {
+        Set<Long> partners = roomParticipantCache.partnersOf(myId);
+        return presenceRegistry.onlineAmong(userIds.stream().filter(partners::contains).toList());
+    }
+
     /** 전체 미읽음 개수 */
     public long countUnread(Long myId) {
         try {
@@ -236,16 +319,27 @@ public class ChatQueryService {
 
     }
 
+    /** 참여자 검증(404/403 은 호출 측으로 전파) */
     private void assertParticipant(Long roomId, Long userId) {
-        try {
-            ChatRoom room = chatRoomRepository.findById(roomId)
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-            if (!room.hasParticipant(userId)) {
-                throw new ResponseStatusException(HttpStatus.FORBIDDEN);
-            }
-        } catch (Exception e) {
-            LogUtil.error(log, ChatQueryService.class, e);
-        }
+        roomParticipantCache.require(roomId, userId);
+    }
+
+    /** 발신자 요약 일괄 조회(캐시) 후 DTO 매핑 */
+    private List<ChatMessageDto> toMessageDtos(List<ChatMessage> messages) {
+        Set<Long> senderIds = messages.stream().map(ChatMessage::getSenderId).collect(Collectors.toSet());
+        Map<Long, ChatUserItemDto> senderMap = userSummaryCache.getAll(senderIds);
+
+        return messages.stream()
+                .map(m -> new ChatMessageDto(
+                        m.getId(),
+                        m.getRoomId(),
+                        m.getSenderId(),
+                        Optional.ofNullable(senderMap.get(m.getSenderId()))
+                                .map(ChatUserItemDto::nickname).orElse(null),
+                        m.getContent(),
+                        m.getCreatedAt(),
+                        m.getSeq()))
+                .toList();
     }
 
     private ChatUserItemDto toUserItem(MUser u) {
@@ -0,0 +1,69 @@
+package project.moonki.service.chat;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.moonki.repository.chat.ChatMessageRepository;
+import project.moonki.repository.chat.ChatReadRepository;
+import project.moonki.repository.chat.ChatRoomRepository;
+import project.moonki.repository.chat.ChatUnreadRepository;
+import project.moonki.utils.LogUtil;
+
+import java.util.List;
+
+/**
+ * seq 도입 이전 데이터 마이그레이션(메시지 순번, 방 last_seq, 읽음 워터마크, 미읽음 카운터).
+ *
+ * - 순번이 비어 있는(seq is null) 메시지가 남은 방을 찾아, 그 방의 모든 메시지에 (created_at, id) 순서로 순번을 다시 매긴다.
+ *   트래픽을 받은 뒤 새 메시지가 먼저 seq 를 받은 방도 함께 바로잡는다.
+ * - 모든 싱글톤 생성(스키마 반영 포함) 직후, 웹 서버/브로커/스케줄러가 시작되기 전에 실행하며 실패하면 기동을 실패시킨다.
+ * - 방 batch-size 개씩 짧은 트랜잭션으로 처리한다. 대상이 없으면 조회 한 번으로 끝난다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatSeqMigrator implements SmartInitializingSingleton {
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatReadRepository chatReadRepository;
+    private final ChatUnreadRepository chatUnreadRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${chat.seq-migration.batch-size:100}")
+    private int batchSize;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            List<Long> roomIds = chatMessageRepository.findRoomIdsWithoutSeq();
+            if (roomIds.isEmpty()) return;
+
+            long start = System.currentTimeMillis();
+            int messages = 0;
+            for (int from = 0; from < roomIds.size(); from += batchSize) {
+                List<Long> chunk = roomIds.subList(from, Math.min(from + batchSize, roomIds.size()));
+                Integer n = transactionTemplate.execute(status -> {
+                    chatRoomRepository.clearMessageSeq(chunk);
+                    int seqs = chatRoomRepository.backfillMessageSeq(chunk);
+                    chatRoomRepository.backfillLastSeq(chunk);
+                    chatReadRepository.backfillLastReadSeq(chunk);
+                    // 카운터 행이 없는 이전 방 보충 후 다시 계산
+                    chatUnreadRepository.insertMissingForUser1(chunk);
+                    chatUnreadRepository.insertMissingForUser2(chunk);
+                    chatUnreadRepository.rebuildRooms(chunk);
+                    return seqs;
+                });
+                messages += (n != null) ? n : 0;
+            }
+            log.info("[ChatSeqMigrator] seq 마이그레이션 - rooms={}, messages={}, {}ms",
+                    roomIds.size(), messages, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            LogUtil.error(log, ChatSeqMigrator.class, e);
+            throw e;
+        }
+    }
+}
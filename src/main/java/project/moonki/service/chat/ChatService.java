@@ -2,32 +2,55 @@ package project.moonki.service.chat;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
+import project.moonki.components.chat.ReadReceiptBuffer;
+import project.moonki.components.chat.RecentMessageCache;
+import project.moonki.components.chat.RoomParticipantCache;
+import project.moonki.components.chat.UnreadNotifier;
+import project.moonki.components.chat.fanout.ChatFanout;
 import project.moonki.domain.chat.ChatMessage;
 import project.moonki.domain.chat.ChatRead;
 import project.moonki.domain.chat.ChatRoom;
+import project.moonki.domain.chat.ChatUnread;
 import project.moonki.repository.chat.ChatMessageRepository;
 import project.moonki.repository.chat.ChatReadRepository;
 import project.moonki.repository.chat.ChatRoomRepository;
+import project.moonki.repository.chat.ChatUnreadRepository;
 import project.moonki.utils.LogUtil;
 
 import java.time.LocalDateTime;
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ChatService {
+
+    /** 메시지 저장 요청(그룹 커밋 단위) */
+    public record SendCommand(Long roomId, Long senderId, String content) {}
+
     private final ChatRoomRepository chatRoomRepository;
     private final ChatMessageRepository chatMessageRepository;
     private final ChatReadRepository chatReadRepository;
+    private final ChatUnreadRepository chatUnreadRepository;
+    private final ReadReceiptBuffer readReceiptBuffer;
+    private final RecentMessageCache recentMessageCache;
+    private final RoomParticipantCache roomParticipantCache;
+    private final UnreadNotifier unreadNotifier;
+    private final ChatFanout chatFanout;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Retrieves an existing direct message (DM) chat room between two users or creates a new one
@@ -44,14 +67,20 @@ public class ChatService {
         try {
             long u1 = Math.min(me, other), u2 = Math.max(me, other);
             Optional<ChatRoom> found = chatRoomRepository.findByUser1IdAndUser2Id(u1, u2);
-            if (found.isPresent()) return found.get();
+            if (found.isPresent()) {
+                roomParticipantCache.put(found.get());
+                return found.get();
+            }
 
             ChatRoom created = ChatRoom.dm(me, other);
             chatRoomRepository.save(created);
+            afterCommit(() -> roomParticipantCache.put(created));
 
-            // read row 미리 생성
+            // read row / 미읽음 카운터 미리 생성
             ensureReadRow(created.getId(), me);
             ensureReadRow(created.getId(), other);
+            ensureUnreadRow(created.getId(), me, other);
+            ensureUnreadRow(created.getId(), other, me);
             return created;
         } catch (Exception e) {
             LogUtil.error(log, ChatService.class, e);
@@ -78,8 +107,31 @@ public class ChatService {
                 ));
     }
 
+    /**
+     * Ensures that a ChatUnread counter row exists for the given room ID and user ID.
+     *
+     * @param roomId  the ID of the chat room
+     * @param userId  the ID of the user owning the counter
+     * @param otherId the ID of the other participant
+     */
+    @Transactional
+    public void ensureUnreadRow(Long roomId, Long userId, Long otherId) {
+        chatUnreadRepository.findByRoomIdAndUserId(roomId, userId)
+                .orElseGet(() -> chatUnreadRepository.save(
+                        ChatUnread.builder()
+                                .roomId(roomId)
+                                .userId(userId)
+                                .otherId(otherId)
+                                .unreadCount(0L)
+                                .build()
+                ));
+    }
+
     /**
      * Saves a new chat message in the system based on the provided room ID, sender ID, and message content.
+     * The room row is locked to assign the next gap-free per-room sequence number. After commit the
+     * sender's read watermark is advanced to that sequence through the read-receipt buffer
+     * (a sender has read everything up to their own message).
      *
      * @param roomId the ID of the chat room where the message is being sent
      * @param senderId the ID of the user sending the message
@@ -89,18 +141,98 @@ public class ChatService {
      */
     @Transactional
     public ChatMessage saveMessage(Long roomId, Long senderId, String content) {
-        ChatRoom room = chatRoomRepository.findById(roomId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        if (!room.hasParticipant(senderId)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        return saveMessages(List.of(new SendCommand(roomId, senderId, content))).get(0);
+    }
+
+    /**
+     * Saves several chat messages in one transaction (group commit).
+     * Rooms are locked in ascending ID order; each room is locked once for the whole group, its
+     * sequence numbers are assigned in submission order, and the messages are inserted through
+     * JDBC batching (sequence-based IDs). Counters are adjusted once per (room, receiver).
+     * Fanout records that must commit with the messages (the outbox rows) are written in the same
+     * transaction, and a {@link ChatMessagesSavedEvent} is published so the messages are broadcast
+     * only after commit.
+     *
+     * @param commands the messages to save, in submission order
+     * @return the saved ChatMessage entities in the same order as the commands
+     * @throws ResponseStatusException 404 if a room does not exist, 403 if a sender is not a participant
+     */
+    @Transactional
+    public List<ChatMessage> saveMessages(List<SendCommand> commands) {
+        // 참여자 검증은 캐시로 먼저 처리(잠금 전에 실패)
+        for (SendCommand c : commands) {
+            roomParticipantCache.require(c.roomId(), c.senderId());
+        }
+
+        // 방 단위로 묶고, 교착 방지를 위해 방 ID 오름차순으로 잠금
+        Map<Long, List<Integer>> indexesByRoom = new TreeMap<>();
+        for (int i = 0; i < commands.size(); i++) {
+            indexesByRoom.computeIfAbsent(commands.get(i).roomId(), k -> new ArrayList<>()).add(i);
+        }
+
+        Map<Long, ChatRoom> rooms = new HashMap<>();
+        for (Long roomId : indexesByRoom.keySet()) {
+            ChatRoom room = chatRoomRepository.findByIdForUpdate(roomId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+            rooms.put(roomId, room);
         }
+
         try {
-            ChatMessage msg = ChatMessage.builder()
-                    .roomId(roomId)
-                    .senderId(senderId)
-                    .content(content)
-                    .createdAt(LocalDateTime.now())
-                    .build();
-            return chatMessageRepository.save(msg);
+            LocalDateTime now = LocalDateTime.now();
+            ChatMessage[] saved = new ChatMessage[commands.size()];
+
+            for (Map.Entry<Long, List<Integer>> e : indexesByRoom.entrySet()) {
+                Long roomId = e.getKey();
+                ChatRoom room = rooms.get(roomId);
+
+                List<ChatMessage> toSave = new ArrayList<>();
+                for (int i : e.getValue()) {
+                    SendCommand c = commands.get(i);
+                    ChatMessage msg = ChatMessage.builder()
+                            .roomId(roomId)
+                            .senderId(c.senderId())
+                            .seq(room.nextSeq())
+                            .content(c.content())
+                            .createdAt(now)
+                            .build();
+                    toSave.add(msg);
+                    saved[i] = msg;
+                }
+                chatMessageRepository.saveAll(toSave); // 시퀀스 ID -> JDBC 배치 INSERT
+                room.applyLastMessage(toSave.get(toSave.size() - 1)); // inbox 비정규화 컬럼 + last_seq (변경 감지로 UPDATE)
+
+                // 보낸 사람은 자기 메시지까지 읽은 것으로 간주(커밋 후 버퍼에 기록, 주기적으로 일괄 반영)
+                Map<Long, Long> maxSeqBySender = new HashMap<>();
+                for (ChatMessage m : toSave) {
+                    maxSeqBySender.merge(m.getSenderId(), m.getSeq(), Math::max);
+                }
+                // 수신자가 같은 배치에서 이후에 보낸 메시지가 있으면 그 이전 메시지는 이미 읽은 것 -> 미읽음에서 제외
+                Map<Long, Long> newByReceiver = new HashMap<>();
+                for (ChatMessage m : toSave) {
+                    Long receiver = room.otherOf(m.getSenderId());
+                    if (m.getSeq() > maxSeqBySender.getOrDefault(receiver, 0L)) {
+                        newByReceiver.merge(receiver, 1L, Long::sum);
+                    }
+                }
+                afterCommit(() -> maxSeqBySender.forEach((senderId, seq) -> readReceiptBuffer.mark(roomId, senderId, seq, now)));
+                // 최신 메시지 캐시 갱신(커밋된 메시지만)
+                afterCommit(() -> recentMessageCache.append(roomId, toSave));
+
+                // 수신자 미읽음 카운터 +n (행이 없으면 생성)
+                newByReceiver.forEach((receiver, n) -> {
+                    if (chatUnreadRepository.increment(roomId, receiver, n) == 0) {
+                        chatUnreadRepository.save(ChatUnread.builder()
+                                .roomId(roomId)
+                                .userId(receiver)
+                                .otherId(room.otherOf(receiver))
+                                .unreadCount(n)
+                                .build());
+                    }
+                });
+            }
+            List<ChatMessage> result = Arrays.asList(saved);
+            chatFanout.recordInTransaction(result);
+            eventPublisher.publishEvent(new ChatMessagesSavedEvent(List.copyOf(result)));
+            return result;
         } catch (Exception e) {
             LogUtil.error(log, ChatService.class, e);
             throw e;
@@ -110,6 +242,8 @@ public class ChatService {
     /**
      * Retrieves a paginated list of chat messages for a specific chat room,
      * ordered by their creation timestamp in descending order.
+     * Windows covered by {@link RecentMessageCache} are served from memory; a miss on the
+     * first page loads the room's newest messages once and caches them.
      *
      * @param roomId the ID of the chat room whose messages are to be retrieved
      * @param page the page number of the messages to retrieve (zero-based index)
@@ -121,7 +255,51 @@ public class ChatService {
     @Transactional(readOnly = true)
     public Page<ChatMessage> getMessages(Long roomId, int page, int size) {
         try {
-            return chatMessageRepository.findByRoomIdOrderByCreatedAtDesc(roomId, PageRequest.of(page, size));
+            return findNewestPage(roomId, page, size);
+        } catch (Exception e) {
+            LogUtil.error(log, ChatService.class, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Retrieves messages older than the given cursor message using keyset pagination
+     * on (room_id, created_at, id). No total count query is issued.
+     *
+     * @param roomId   the ID of the chat room
+     * @param cursorId the ID of the cursor message (exclusive)
+     * @param size     the maximum number of messages to return
+     * @return a slice of messages ordered by creation time in descending order
+     */
+    @Transactional(readOnly = true)
+    public Slice<ChatMessage> getMessagesBefore(Long roomId, Long cursorId, int size) {
+        try {
+            ChatMessage cursor = findCursor(roomId, cursorId);
+            List<ChatMessage> rows = chatMessageRepository.findBefore(
+                    roomId, cursor.getCreatedAt(), cursor.getId(), PageRequest.of(0, size + 1));
+            return toSlice(rows, size);
+        } catch (Exception e) {
+            LogUtil.error(log, ChatService.class, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Retrieves messages newer than the given cursor message using keyset pagination
+     * on (room_id, created_at, id). No total count query is issued.
+     *
+     * @param roomId   the ID of the chat room
+     * @param cursorId the ID of the cursor message (exclusive)
+     * @param size     the maximum number of messages to return
+     * @return a slice of messages ordered by creation time in ascending order
+     */
+    @Transactional(readOnly = true)
+    public Slice<ChatMessage> getMessagesAfter(Long roomId, Long cursorId, int size) {
+        try {
+            ChatMessage cursor = findCursor(roomId, cursorId);
+            List<ChatMessage> rows = chatMessageRepository.findAfter(
+                    roomId, cursor.getCreatedAt(), cursor.getId(), PageRequest.of(0, size + 1));
+            return toSlice(rows, size);
         } catch (Exception e) {
             LogUtil.error(log, ChatService.class, e);
             throw e;
@@ -129,23 +307,56 @@ public class ChatService {
     }
 
     /**
-     * Updates the last read timestamp for a user in a specific chat room.
-     * If no existing record is found for the given user and room, it creates a new entry with a default timestamp.
+     * Retrieves messages with a sequence number greater than {@code afterSeq}, in ascending order.
+     * Served from {@link RecentMessageCache} when the cached window covers the range up to the
+     * room's current last sequence; otherwise read through the (room_id, seq) unique index.
+     *
+     * @param roomId   the ID of the chat room
+     * @param afterSeq the last sequence number the caller already has (exclusive)
+     * @param upToSeq  the room's current last sequence number
+     * @param size     the maximum number of messages to return
+     * @return a slice of messages ordered by sequence number in ascending order
+     */
+    @Transactional(readOnly = true)
+    public Slice<ChatMessage> getMessagesAfterSeq(Long roomId, long afterSeq, long upToSeq, int size) {
+        try {
+            Optional<List<ChatMessage>> cached = recentMessageCache.afterSeq(roomId, afterSeq, upToSeq, size + 1);
+            List<ChatMessage> rows = cached.orElseGet(() ->
+                    chatMessageRepository.findAfterSeq(roomId, afterSeq, PageRequest.of(0, size + 1)));
+            return toSlice(rows, size);
+        } catch (Exception e) {
+            LogUtil.error(log, ChatService.class, e);
+            throw e;
+        }
+    }
+
+    private ChatMessage findCursor(Long roomId, Long cursorId) {
+        return chatMessageRepository.findById(cursorId)
+                .filter(m -> m.getRoomId().equals(roomId))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 커서입니다."));
+    }
+
+    private Slice<ChatMessage> toSlice(List<ChatMessage> rows, int size) {
+        boolean hasNext = rows.size() > size;
+        List<ChatMessage> content = hasNext ? rows.subList(0, size) : rows;
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+    }
+
+    /**
+     * Records the read watermark (the room's current last sequence) for a user in a specific chat room.
+     * The watermark is buffered in memory, coalesced with repeated marks for the same room and user,
+     * and flushed to chat_read/chat_unread in periodic batches by {@link ReadReceiptBuffer}.
      *
      * @param roomId the ID of the chat room
      * @param userId the ID of the user
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public void markRead(Long roomId, Long userId) {
         try {
-            ChatRoom room = chatRoomRepository.findById(roomId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-            if (!room.hasParticipant(userId)) {
-                throw new ResponseStatusException(HttpStatus.FORBIDDEN);
-            }
-            ChatRead r = chatReadRepository.findByRoomIdAndUserId(roomId, userId)
-                    .orElse(ChatRead.builder().roomId(roomId).userId(userId).lastReadAt(LocalDateTime.MIN).build());
-            r.setLastReadAt(LocalDateTime.now());
-            chatReadRepository.save(r);
+            roomParticipantCache.require(roomId, userId);
+            long lastSeq = chatRoomRepository.findLastSeqById(roomId).orElse(0L);
+            readReceiptBuffer.mark(roomId, userId, lastSeq, LocalDateTime.now());
+            unreadNotifier.onRead(roomId, userId, lastSeq);
         } catch (Exception e) {
             LogUtil.error(log, ChatService.class, e);
             throw e;
@@ -154,34 +365,44 @@ public class ChatService {
 
     @Transactional(readOnly = true)
     public Page<ChatMessage> getMessagesForUser(Long roomId, Long userId, int page, int size) {
-        ChatRoom room = chatRoomRepository.findById(roomId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        if (!room.hasParticipant(userId)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        roomParticipantCache.require(roomId, userId);
+        return findNewestPage(roomId, page, size);
+    }
+
+    private Page<ChatMessage> findNewestPage(Long roomId, int page, int size) {
+        Optional<Page<ChatMessage>> cached = recentMessageCache.requiresLastSeqCheck()
+                ? recentMessageCache.page(roomId, page, size, chatRoomRepository.findLastSeqById(roomId).orElse(0L))
+                : recentMessageCache.page(roomId, page, size);
+        if (cached.isPresent()) return cached.get();
+
+        int window = recentMessageCache.perRoom();
+        if (page != 0 || size > window) {
+            return chatMessageRepository.findByRoomIdOrderByCreatedAtDesc(roomId, PageRequest.of(page, size));
         }
-        return chatMessageRepository.findByRoomIdOrderByCreatedAtDesc(roomId, PageRequest.of(page, size));
+
+        // 첫 페이지 miss -> 캐시 구간만큼 한 번에 읽어 채운 뒤 요청 크기만큼 잘라 응답
+        Page<ChatMessage> newest = chatMessageRepository.findByRoomIdOrderByCreatedAtDesc(roomId, PageRequest.of(0, window));
+        recentMessageCache.fill(roomId, newest);
+        List<ChatMessage> content = newest.getContent();
+        return new PageImpl<>(content.subList(0, Math.min(size, content.size())), PageRequest.of(0, size), newest.getTotalElements());
     }
 
     /**
+     * Returns the total number of unread messages for the given user across all rooms.
+     * Reads the maintained chat_unread counters instead of counting messages.
      *
-     * @param userId
-     * @return
+     * @param userId the ID of the user
+     * @return total unread message count
      */
     @Transactional(readOnly = true)
     public long countUnreadForUser(Long userId) {
         try {
-            // 간단 구현: 사용자가 참여한 방의 lastReadAt 이후 메시지수 합계
-            // 실제 서비스에서는 쿼리 최적화/집계 테이블 사용 고려
-            // (여기서는 실용적 단순화)
-            // rooms 전체 순회 -> 각 room에 대해 reads와 메시지수 계산
-            return chatRoomRepository.findAll().stream()
-                    .filter(r -> r.hasParticipant(userId))
-                    .mapToLong(r -> {
-                        LocalDateTime lastRead = chatReadRepository.findByRoomIdAndUserId(r.getId(), userId)
-                                .map(ChatRead::getLastReadAt).orElse(LocalDateTime.MIN);
-                        long total = chatMessageRepository.countByRoomIdAndCreatedAtAfter(r.getId(), lastRead);
-                        long mine  = chatMessageRepository.countByRoomIdAndSenderIdAndCreatedAtAfter(r.getId(), userId, lastRead);
-                        return total - mine; // ★ 내 메시지는 제외
-                    }).sum();
+            if (readReceiptBuffer.pendingFor(userId).isEmpty()) {
+                return chatUnreadRepository.sumUnreadCountByUserId(userId);
+            }
+            return withPendingReads(userId, chatUnreadRepository.findByUserId(userId)).stream()
+                    .mapToLong(ChatUnread::getUnreadCount)
+                    .sum();
         } catch (Exception e) {
             LogUtil.error(log, ChatService.class, e);
             throw e;
@@ -191,9 +412,10 @@ public class ChatService {
     @Transactional(readOnly = true)
     public long countUnreadFrom(Long roomId, Long receiverId, Long senderId) {
         try {
-            LocalDateTime lastRead = chatReadRepository.findByRoomIdAndUserId(roomId, receiverId)
-                    .map(ChatRead::getLastReadAt).orElse(LocalDateTime.MIN);
-            return chatMessageRepository.countByRoomIdAndSenderIdAndCreatedAtAfter(roomId, senderId, lastRead);
+            return chatUnreadRepository.findByRoomIdAndUserId(roomId, receiverId)
+                    .filter(u -> u.getOtherId().equals(senderId))
+                    .map(u -> withPendingReads(receiverId, List.of(u)).get(0).getUnreadCount())
+                    .orElse(0L);
         } catch (Exception e) {
             LogUtil.error(log, ChatService.class, e);
             throw e;
@@ -202,18 +424,55 @@ public class ChatService {
 
     @Transactional(readOnly = true)
     public Map<Long, Long> countUnreadByOther(Long userId) {
-        return chatRoomRepository.findAll().stream()
-                .filter(r -> r.hasParticipant(userId))
+        return withPendingReads(userId, chatUnreadRepository.findByUserId(userId)).stream()
                 .collect(Collectors.toMap(
-                        r -> r.otherOf(userId),
-                        r -> {
-                            LocalDateTime last = chatReadRepository.findByRoomIdAndUserId(r.getId(), userId)
-                                    .map(ChatRead::getLastReadAt).orElse(LocalDateTime.MIN);
-                            Long other = r.otherOf(userId);
-                            return chatMessageRepository.countByRoomIdAndSenderIdAndCreatedAtAfter(r.getId(), other, last);
-                        },
+                        ChatUnread::getOtherId,
+                        ChatUnread::getUnreadCount,
                         Long::sum // 동일 상대가 여러 방인 경우(현재는 DM만이라 사실상 1개)
                 ));
     }
 
+    /**
+     * Applies read watermarks that are still buffered (not yet flushed) to the given counter rows.
+     * For a buffered room the unread count is {@code room.last_seq - bufferedSeq}.
+     * Returned rows are detached copies; the managed entities are never modified.
+     *
+     * @param userId the ID of the counter owner
+     * @param rows   chat_unread rows of the user
+     * @return rows with buffered watermarks applied
+     */
+    public List<ChatUnread> withPendingReads(Long userId, List<ChatUnread> rows) {
+        Map<Long, Long> pending = readReceiptBuffer.pendingFor(userId);
+        if (pending.isEmpty()) return rows;
+
+        Map<Long, Long> lastSeqByRoom = chatRoomRepository.findAllById(pending.keySet()).stream()
+                .collect(Collectors.toMap(ChatRoom::getId, ChatRoom::getLastSeq));
+
+        return rows.stream().map(u -> {
+            Long buffered = pending.get(u.getRoomId());
+            Long lastSeq = lastSeqByRoom.get(u.getRoomId());
+            if (buffered == null || lastSeq == null) return u;
+            return ChatUnread.builder()
+                    .id(u.getId())
+                    .roomId(u.getRoomId())
+                    .userId(u.getUserId())
+                    .otherId(u.getOtherId())
+                    .unreadCount(Math.min(u.getUnreadCount(), Math.max(0L, lastSeq - buffered)))
+                    .build();
+        }).toList();
+    }
+
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
 }
@@ -0,0 +1,82 @@
+package project.moonki.service.chat;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.moonki.components.chat.UnreadNotifier;
+import project.moonki.repository.chat.ChatRoomRepository;
+import project.moonki.repository.chat.ChatUnreadRepository;
+import project.moonki.utils.LogUtil;
+
+import java.util.List;
+
+/**
+ * chat_unread 집계 테이블 재구성 작업.
+ * 증분 갱신(saveMessage/markRead)이 어긋나더라도 원본 워터마크(chat_room.last_seq, chat_read.last_read_seq) 기준으로 다시 맞춘다.
+ * chat_room 의 마지막 메시지 비정규화 컬럼이 비어 있으면 함께 채운다.
+ * 방 ID 구간(range-size)마다 짧은 트랜잭션으로 나눠, 구간의 방 행을 ID 순으로 먼저 잠근 뒤 chat_unread 를 갱신한다.
+ * seq 도입 이전 데이터의 순번 마이그레이션은 트래픽을 받기 전에 {@link ChatSeqMigrator} 가 처리한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatUnreadReconciler {
+
+    private final ChatUnreadRepository chatUnreadRepository;
+    private final ChatRoomRepository chatRoomRepository;
+    private final UnreadNotifier unreadNotifier;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${chat.unread.reconcile-on-startup:false}")
+    private boolean reconcileOnStartup;
+
+    @Value("${chat.unread.reconcile-range-size:500}")
+    private int rangeSize;
+
+    /** 기동 직후 1회(기본: 끔) */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (reconcileOnStartup) {
+            rebuild();
+        }
+    }
+
+    /** 주기 재구성(기본: 매일 04:30) */
+    @Scheduled(cron = "${chat.unread.reconcile-cron:0 30 4 * * *}")
+    public void reconcile() {
+        rebuild();
+    }
+
+    private void rebuild() {
+        try {
+            long start = System.currentTimeMillis();
+            long maxId = chatRoomRepository.findMaxId();
+            int[] totals = new int[3]; // backfilled, inserted, updated
+
+            for (long from = 1; from <= maxId; from += rangeSize) {
+                long fromId = from;
+                long toId = from + rangeSize - 1;
+                transactionTemplate.executeWithoutResult(status -> {
+                    List<Long> roomIds = chatRoomRepository.lockIdRange(fromId, toId);
+                    if (roomIds.isEmpty()) return;
+                    totals[0] += chatRoomRepository.backfillLastMessage(roomIds);
+                    totals[1] += chatUnreadRepository.insertMissingForUser1(roomIds)
+                            + chatUnreadRepository.insertMissingForUser2(roomIds);
+                    totals[2] += chatUnreadRepository.rebuildRooms(roomIds);
+                });
+            }
+            // 알림용 메모리 카운터는 다음 사용 시 다시 채움
+            unreadNotifier.invalidateAll();
+            log.info("[ChatUnreadReconciler] 재구성 완료 - inserted={}, updated={}, lastMessageBackfilled={}, {}ms",
+                    totals[1], totals[2], totals[0], System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            LogUtil.error(log, ChatUnreadReconciler.class, e);
+            throw e;
+        }
+    }
+}
@@ -3,10 +3,12 @@ package project.moonki.service.kakao;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import project.moonki.components.kakao.KakaoClient;
+import project.moonki.components.user.UserChangedEvent;
 import project.moonki.domain.user.entity.MUser;
 import project.moonki.dto.kakao.KakaoAccountDto;
 import project.moonki.dto.kakao.KakaoProfileDto;
@@ -17,6 +19,7 @@ import project.moonki.dto.muser.UserResponseDto;
 import project.moonki.enums.Role;
 import project.moonki.repository.user.MuserRepository;
 import project.moonki.security.JwtTokenProvider;
+import project.moonki.service.login.RefreshTokenService;
 import project.moonki.utils.LogUtil;
 import project.moonki.utils.PasswordUtil;
 
@@ -37,6 +40,8 @@ public class KakaoService {
     private final MuserRepository users;
     private final JwtTokenProvider jwt;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RefreshTokenService refreshTokenService;
 
     /***
      * 카카오 로그인/가입, 정보 동기화, 토큰 발급
@@ -64,7 +69,7 @@ public class KakaoService {
             MUser user = upsertUser(kakaoIdStr, userId, email, nickname);
 
             // JWT 발급
-            String jwtToken = jwt.generateToken(user.getUserId());
+            String jwtToken = jwt.generateToken(user);
 
             // 응답 DTO
             UserResponseDto userDto = toUserResponse(user);
@@ -72,6 +77,7 @@ public class KakaoService {
             return LoginResponseDto.builder()
                     .user(userDto)
                     .token(jwtToken)
+                    .refreshToken(refreshTokenService.issue(user))
                     .build();
 
         } catch (Exception e) {
@@ -128,6 +134,7 @@ public class KakaoService {
         }
         if (isChanged) {
             users.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
         }
         return user;
     }
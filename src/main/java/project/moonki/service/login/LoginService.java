@@ -27,6 +27,7 @@ public class LoginService {
     private final MuserRepository muserRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenService refreshTokenService;
 
     /***
      * 회원가입
@@ -53,8 +54,9 @@ public class LoginService {
                 throw new IllegalArgumentException("아이디 또는 비밀번호를 확인하세요");
             }
 
-            String token = jwtTokenProvider.generateToken(user.getUserId());
-            return new LoginResponseDto(MUserMapper.toResponse(user), token);
+            String token = jwtTokenProvider.generateToken(user);
+            String refreshToken = refreshTokenService.issue(user);
+            return new LoginResponseDto(MUserMapper.toResponse(user), token, refreshToken);
 
         } catch (IllegalArgumentException e) {
             throw e;
@@ -64,6 +66,25 @@ public class LoginService {
         }
     }
 
+    /***
+     * 액세스 토큰 재발급(리프레시 토큰 교체) - 비밀번호 검증 없음
+     *
+     * @param refreshToken
+     * @return
+     */
+    public LoginResponseDto refresh(String refreshToken) {
+        return refreshTokenService.refresh(refreshToken);
+    }
+
+    /***
+     * 로그아웃(리프레시 토큰 폐기)
+     *
+     * @param refreshToken
+     */
+    public void logout(String refreshToken) {
+        refreshTokenService.revoke(refreshToken);
+    }
+
     /***
      * 아이디 중복 체크
      *
@@ -96,7 +117,9 @@ public class LoginService {
             throw new UnauthorizedException("인증이 필요합니다.");
         }
         MUserDetailsDto principal = (MUserDetailsDto) authentication.getPrincipal();
-        return MUserMapper.toResponse(principal.getUser());
+        MUser user = muserRepository.findById(principal.getId())
+                .orElseThrow(() -> new UnauthorizedException("인증이 필요합니다."));
+        return MUserMapper.toResponse(user);
     }
 
     /**
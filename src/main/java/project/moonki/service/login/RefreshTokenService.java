@@ -0,0 +1,161 @@
+package project.moonki.service.login;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import project.moonki.domain.user.entity.MUser;
+import project.moonki.domain.user.entity.RefreshToken;
+import project.moonki.dto.login.LoginResponseDto;
+import project.moonki.mapper.MUserMapper;
+import project.moonki.repository.user.MuserRepository;
+import project.moonki.repository.user.RefreshTokenRepository;
+import project.moonki.security.JwtTokenProvider;
+import project.moonki.utils.HashUtil;
+import project.moonki.utils.LogUtil;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * 리프레시 토큰 발급/교체/폐기.
+ *
+ * 액세스 토큰은 짧게(jwt.expiration-ms) 두고, 만료되면 리프레시 토큰으로 해시 인덱스 조회 한 번에 새로 발급한다.
+ * 비밀번호 검증(bcrypt)은 실제 로그인 때만 수행된다.
+ * - 교체(rotation): 사용한 토큰은 used 로 표시하고 같은 family 의 새 토큰을 돌려준다.
+ * - 재사용 감지: 이미 교체/폐기된 토큰이 오면 탈취로 보고 family 전체를 폐기한다.
+ *   단, 교체 직후 reuse-grace-ms 안에 다시 온 경우(여러 탭/재시도의 동시 갱신)는 거부만 하고 family 는 유지한다.
+ * - 사용자 토큰 버전이 바뀌었으면(비밀번호 변경 등) 사용할 수 없다.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final MuserRepository muserRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final long refreshExpirationMillis;
+    private final Duration reuseGrace;
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            MuserRepository muserRepository,
+            JwtTokenProvider jwtTokenProvider,
+            @Value("${jwt.refresh-expiration-ms:1209600000}") long refreshExpirationMillis, // 기본 14일
+            @Value("${jwt.refresh-reuse-grace-ms:10000}") long reuseGraceMillis
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.muserRepository = muserRepository;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.refreshExpirationMillis = refreshExpirationMillis;
+        this.reuseGrace = Duration.ofMillis(reuseGraceMillis);
+    }
+
+    /**
+     * 로그인 시 새 family 로 발급
+     *
+     * @param user
+     * @return 리프레시 토큰 원문(클라이언트 전달용, 서버에는 해시만 저장)
+     */
+    @Transactional
+    public String issue(MUser user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * 리프레시 토큰으로 액세스 토큰 재발급(리프레시 토큰도 교체)
+     *
+     * @param refreshToken
+     * @return 새 액세스/리프레시 토큰과 사용자 정보
+     * @throws LoginService.UnauthorizedException 없거나 만료/폐기/재사용된 토큰
+     */
+    @Transactional(noRollbackFor = LoginService.UnauthorizedException.class)
+    public LoginResponseDto refresh(String refreshToken) {
+        try {
+            RefreshToken current = refreshTokenRepository.findByTokenHashForUpdate(HashUtil.sha256Hex(refreshToken))
+                    .orElseThrow(() -> new LoginService.UnauthorizedException("다시 로그인하세요."));
+
+            if (!current.isRevoked() && current.getUsedAt() != null
+                    && current.getUsedAt().plus(reuseGrace).isAfter(LocalDateTime.now())) {
+                // 방금 교체된 토큰(동시 갱신 경쟁) -> 이번 요청만 거부, 먼저 받은 새 토큰은 유지
+                log.info("[RefreshTokenService] concurrent refresh within grace: userId={}, family={}",
+                        current.getUserId(), current.getFamilyId());
+                throw new LoginService.UnauthorizedException("이미 갱신된 토큰입니다.");
+            }
+            if (current.isRevoked() || current.getUsedAt() != null) {
+                // 이미 교체된 토큰 재사용 -> family 폐기(정상 사용자도 다시 로그인)
+                refreshTokenRepository.revokeFamily(current.getFamilyId());
+                log.warn("[RefreshTokenService] refresh token reuse detected: userId={}, family={}",
+                        current.getUserId(), current.getFamilyId());
+                throw new LoginService.UnauthorizedException("다시 로그인하세요.");
+            }
+            if (current.getExpiresAt().isBefore(LocalDateTime.now())) {
+                throw new LoginService.UnauthorizedException("다시 로그인하세요.");
+            }
+
+            MUser user = muserRepository.findById(current.getUserId())
+                    .orElseThrow(() -> new LoginService.UnauthorizedException("다시 로그인하세요."));
+            if (!Objects.equals(user.getTokenVersion(), current.getTokenVersion())) {
+                refreshTokenRepository.revokeFamily(current.getFamilyId());
+                throw new LoginService.UnauthorizedException("다시 로그인하세요.");
+            }
+
+            current.setUsedAt(LocalDateTime.now());
+            String next = issue(user, current.getFamilyId());
+            return LoginResponseDto.builder()
+                    .user(MUserMapper.toResponse(user))
+                    .token(jwtTokenProvider.generateToken(user))
+                    .refreshToken(next)
+                    .build();
+
+        } catch (LoginService.UnauthorizedException e) {
+            throw e;
+        } catch (Exception e) {
+            LogUtil.error(log, RefreshTokenService.class, e);
+            throw e;
+        }
+    }
+
+    /**
+     * 로그아웃 - 해당 토큰의 family 폐기(없는 토큰은 무시)
+     *
+     * @param refreshToken
+     */
+    @Transactional
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenHash(HashUtil.sha256Hex(refreshToken))
+                .ifPresent(t -> refreshTokenRepository.revokeFamily(t.getFamilyId()));
+    }
+
+    /** 만료된 토큰 정리(기본: 매일 05:15, 04:30 의 미읽음 재구성과 겹치지 않게) */
+    @Transactional
+    @Scheduled(cron = "${jwt.refresh-cleanup-cron:0 15 5 * * *}")
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) log.info("[RefreshTokenService] deleted {} expired refresh tokens", deleted);
+    }
+
+    private String issue(MUser user, String familyId) {
+        byte[] raw = new byte[32];
+        RANDOM.nextBytes(raw);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .userId(user.getId())
+                .tokenHash(HashUtil.sha256Hex(token))
+                .familyId(familyId)
+                .tokenVersion(user.getTokenVersion() != null ? user.getTokenVersion() : 0L)
+                .createdAt(now)
+                .expiresAt(now.plus(Duration.ofMillis(refreshExpirationMillis)))
+                .build());
+        return token;
+    }
+}
@@ -2,6 +2,7 @@ package project.moonki.service.muser;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -9,6 +10,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import project.moonki.components.user.UserChangedEvent;
 import project.moonki.domain.user.entity.MUser;
 import project.moonki.domain.user.entity.MUserImage;
 import project.moonki.dto.login.LoginResponseDto;
@@ -21,6 +23,7 @@ import project.moonki.repository.user.MUserImageRepository;
 import project.moonki.repository.user.MuserRepository;
 import project.moonki.security.JwtTokenProvider;
 import project.moonki.service.login.LoginService;
+import project.moonki.service.login.RefreshTokenService;
 import project.moonki.utils.LogUtil;
 
 import java.io.IOException;
@@ -44,7 +47,9 @@ public class AccountService {
     private final MuserRepository muserRepository;
     private final MUserImageRepository imageRepository;
     private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenService refreshTokenService;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserResponseDto getMe(Authentication authentication) {
         try {
@@ -99,11 +104,12 @@ public class AccountService {
             if (req.getPhone() != null)    user.setPhone(req.getPhone());
 
             MUser saved = muserRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(saved.getId()));
 
             // 아이디 변경 시 새 토큰 발급
             String token = null;
             if (isNeedReauth) {
-                token = jwtTokenProvider.generateToken(saved.getUserId());
+                token = jwtTokenProvider.generateToken(saved);
             }
 
             return new LoginResponseDto(MUserMapper.toResponse(saved), token);
@@ -116,12 +122,14 @@ public class AccountService {
 
     /***
      * 비밀번호 변경
+     * 토큰 버전이 올라가 기존 액세스/리프레시 토큰은 모두 무효가 되므로, 요청한 클라이언트에는 새 토큰을 발급한다.
      *
      * @param authentication
      * @param req
+     * @return 새 액세스/리프레시 토큰
      */
     @Transactional(rollbackFor = Exception.class)
-    public void changePassword(Authentication authentication, ChangePasswordRequestDto req) {
+    public LoginResponseDto changePassword(Authentication authentication, ChangePasswordRequestDto req) {
         try {
             // 인증 검증
             if (authentication == null || !authentication.isAuthenticated()
@@ -135,8 +143,8 @@ public class AccountService {
                 throw new LoginService.UnauthorizedException("인증이 필요합니다.");
             }
 
-            //  principal에 든 user는 영속 객체가 아닐 수 있어 id로 재조회(영속화)
-            Long userPk = principal.getUser().getId();
+            // principal 은 토큰 claims 기반이므로 id로 조회(영속화)
+            Long userPk = principal.getId();
             MUser user = muserRepository.findById(userPk)
                     .orElseThrow(() -> new IllegalStateException("사용자를 찾을 수 없습니다."));
 
@@ -155,10 +163,16 @@ public class AccountService {
             // 비밀번호 변경
             String encoded = passwordEncoder.encode(req.newPassword());
             user.changePassword(encoded);
+            user.bumpTokenVersion(); // 이전 토큰 무효화
+            eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
 
             // 영속 상태이므로 별도 save() 없이 커밋 시 UPDATE 수행
             log.info("[changePassword] Password changed: userId={}", user.getUserId());
 
+            // 올라간 토큰 버전으로 재발급(현재 기기는 로그인 유지)
+            return new LoginResponseDto(MUserMapper.toResponse(user),
+                    jwtTokenProvider.generateToken(user),
+                    refreshTokenService.issue(user));
 
         } catch (LoginService.UnauthorizedException | IllegalArgumentException e) {
             log.warn("[changePassword] Client error: {}", e.getMessage());
@@ -179,6 +193,7 @@ public class AccountService {
         MUser me = resolveUser(authentication);
         // 하드 삭제. 연관 데이터가 생기면 soft-delete로 전환 검토
         muserRepository.delete(me);
+        eventPublisher.publishEvent(new UserChangedEvent(me.getId()));
     }
 
     /***
@@ -219,7 +234,7 @@ public class AccountService {
             }
 
             // 사용자 영속 조회
-            Long userPk = principal.getUser().getId();
+            Long userPk = principal.getId();
             MUser user = muserRepository.findById(userPk)
                     .orElseThrow(() -> new IllegalStateException("사용자를 찾을 수 없습니다."));
 
@@ -265,6 +280,7 @@ public class AccountService {
             imageRepository.save(image);
             user.setProfileImage(image);
             muserRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(userPk));
 
             // 기존 이미지 실제 파일 삭제(성공 후 정리)
             if (oldPathToDelete != null) {
@@ -309,10 +325,12 @@ public class AccountService {
             throw new org.springframework.security.access.AccessDeniedException("인증이 필요합니다.");
         }
         Object principal = authentication.getPrincipal();
-        if (!(principal instanceof MUserDetailsDto)) {
+        if (!(principal instanceof MUserDetailsDto details)) {
             throw new IllegalStateException("인증 주체 유형이 올바르지 않습니다.");
         }
-        return ((MUserDetailsDto) principal).getUser();
+        // principal 은 토큰 claims 기반 경량 객체 -> 엔티티가 필요한 경우에만 조회
+        return muserRepository.findById(details.getId())
+                .orElseThrow(() -> new IllegalStateException("사용자를 찾을 수 없습니다."));
     }
 
     /**
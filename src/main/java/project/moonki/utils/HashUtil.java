@@ -0,0 +1,29 @@
+package project.moonki.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 토큰 해시 유틸(원문 대신 저장/캐시 키로 사용)
+ */
+public final class HashUtil {
+
+    private HashUtil() {}
+
+    /***
+     * SHA-256 해시(소문자 hex, 64자)
+     *
+     * @param value ASCII 토큰(JWT, 리프레시 토큰)
+     * @return
+     */
+    public static String sha256Hex(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package project.moonki.components.chat.fanout;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import project.moonki.MoonkiApplication;
+import project.moonki.dto.chat.ChatMessageDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * chat.fanout.mode=embedded 로 같은 JVM 에 3개 노드(컨텍스트)를 띄워,
+ * 한 노드에서 발행한 메시지가 모든 노드의 방 토픽 구독자에게 전달되는지 확인한다.
+ */
+class EmbeddedChatFanoutTest {
+
+    private static final int NODE_COUNT = 3;
+
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @BeforeEach
+    void startNodes() {
+        for (int i = 0; i < NODE_COUNT; i++) {
+            nodes.add(new SpringApplicationBuilder(MoonkiApplication.class)
+                    .properties(
+                            "server.port=0",
+                            "chat.fanout.mode=embedded",
+                            "chat.fanout.node-id=node-" + i)
+                    .run());
+        }
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+        nodes.clear();
+    }
+
+    @Test
+    void messagePublishedOnOneNodeReachesSubscribersOnEveryNode() throws InterruptedException {
+        String destination = "/topic/chat.room.900001";
+        List<BlockingQueue<String>> received = new ArrayList<>();
+        for (int i = 0; i < NODE_COUNT; i++) {
+            received.add(subscribe(nodes.get(i), "session-" + i, destination));
+        }
+
+        ChatMessageDto m = new ChatMessageDto(1L, 900001L, 1L, "tester", "hello from node-0", LocalDateTime.now(), 1L);
+        nodes.get(0).getBean(ChatFanout.class).publish(m);
+
+        for (int i = 0; i < NODE_COUNT; i++) {
+            String payload = received.get(i).poll(5, TimeUnit.SECONDS);
+            assertThat(payload).as("node-" + i).isNotNull().contains("hello from node-0");
+        }
+        // 다른 노드에는 한 번씩만 전달
+        for (int i = 1; i < NODE_COUNT; i++) {
+            assertThat(received.get(i).poll(200, TimeUnit.MILLISECONDS)).as("node-" + i).isNull();
+        }
+    }
+
+    /** 노드의 SimpleBroker 에 구독을 직접 등록하고, 그 세션으로 나가는 MESSAGE 의 payload 를 모은다 */
+    private static BlockingQueue<String> subscribe(ConfigurableApplicationContext node, String sessionId, String destination) {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        ExecutorSubscribableChannel outbound = node.getBean("clientOutboundChannel", ExecutorSubscribableChannel.class);
+        outbound.addInterceptor(0, new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                SimpMessageHeaderAccessor h = SimpMessageHeaderAccessor.wrap(message);
+                if (h.getMessageType() == SimpMessageType.MESSAGE && sessionId.equals(h.getSessionId())
+                        && message.getPayload() instanceof byte[] bytes) {
+                    received.add(new String(bytes, StandardCharsets.UTF_8));
+                }
+                return message;
+            }
+        });
+
+        SimpMessageHeaderAccessor h = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        h.setSessionId(sessionId);
+        h.setSubscriptionId("sub-0");
+        h.setDestination(destination);
+        node.getBean(SimpleBrokerMessageHandler.class)
+                .handleMessage(MessageBuilder.createMessage(new byte[0], h.getMessageHeaders()));
+        return received;
+    }
+}
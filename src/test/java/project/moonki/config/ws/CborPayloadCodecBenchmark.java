@@ -0,0 +1,66 @@
+package project.moonki.config.ws;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import project.moonki.dto.chat.ChatMessageDto;
+import project.moonki.dto.chat.UnreadEventDto;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static project.moonki.support.Benchmarks.nsPerOp;
+import static project.moonki.support.Benchmarks.report;
+
+/**
+ * JSON vs CBOR payload 크기/직렬화 시간 비교(CborPayloadCodec 과 같은 ObjectMapper 구성).
+ *
+ * CBOR 세션이 실제로 타는 경로(브로커의 JSON 직렬화 + {@link CborPayloadCodec#toCbor} 변환)도 함께 잰다.
+ * 크기는 CBOR 가 작아야 하고 역직렬화 결과가 같아야 한다. 시간은 환경에 따라 달라지므로 출력만 한다.
+ */
+@Tag("benchmark")
+class CborPayloadCodecBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 50_000;
+
+    private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+    private final CborPayloadCodec codec = new CborPayloadCodec(new SimpleMeterRegistry());
+
+    @Test
+    void chatMessage() throws Exception {
+        compare(new ChatMessageDto(1_234_567L, 8_901L, 2_345L, "moonki",
+                "오늘 회의는 3시에 시작합니다. 자료는 공유 폴더에 올려두었어요.",
+                LocalDateTime.of(2025, 8, 1, 12, 30, 15, 123_000_000), 9_876L), ChatMessageDto.class);
+    }
+
+    @Test
+    void unreadEvent() throws Exception {
+        compare(new UnreadEventDto("unread", 37, 8_901L, 2_345L, 5, 1), UnreadEventDto.class);
+    }
+
+    private <T> void compare(T value, Class<T> type) throws Exception {
+        byte[] json = jsonMapper.writeValueAsBytes(value);
+        byte[] cbor = cborMapper.writeValueAsBytes(value);
+
+        assertThat(jsonMapper.readValue(json, type)).isEqualTo(value);
+        assertThat(cborMapper.readValue(cbor, type)).isEqualTo(value);
+        assertThat(cbor.length).isLessThan(json.length);
+        assertThat(cborMapper.readValue(codec.toCbor(json), type)).isEqualTo(value);
+
+        double jsonWrite = nsPerOp(WARMUP, ITERATIONS, i -> jsonMapper.writeValueAsBytes(value).length);
+        double cborWrite = nsPerOp(WARMUP, ITERATIONS, i -> cborMapper.writeValueAsBytes(value).length);
+        double jsonRead = nsPerOp(WARMUP, ITERATIONS, i -> jsonMapper.readValue(json, type).hashCode());
+        double cborRead = nsPerOp(WARMUP, ITERATIONS, i -> cborMapper.readValue(cbor, type).hashCode());
+        double transcode = nsPerOp(WARMUP, ITERATIONS, i -> codec.toCbor(json).length);
+        report("codec", "%s json=%d B cbor=%d B (%.0f%%) write json=%,.0f ns cbor=%,.0f ns read json=%,.0f ns cbor=%,.0f ns",
+                type.getSimpleName(), json.length, cbor.length, 100.0 * cbor.length / json.length,
+                jsonWrite, cborWrite, jsonRead, cborRead);
+        report("codec", "%s send path: json write + transcode=%,.0f ns (transcode %,.0f ns) vs direct cbor write=%,.0f ns",
+                type.getSimpleName(), jsonWrite + transcode, transcode, cborWrite);
+    }
+}
@@ -0,0 +1,130 @@
+package project.moonki.config.ws;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.sockjs.transport.session.AbstractSockJsSession;
+import project.moonki.dto.chat.ChatMessageDto;
+import project.moonki.dto.chat.UnreadEventDto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CborPayloadCodecTest {
+
+    private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+
+    private final CborPayloadCodec codec = new CborPayloadCodec(new SimpleMeterRegistry());
+
+    private final ChatMessageDto chat = new ChatMessageDto(
+            101L, 7L, 3L, "moonki", "안녕하세요", LocalDateTime.of(2025, 8, 1, 12, 30, 15, 123_000_000), 42L);
+
+    @Test
+    void converterRoundTripsCborPayloads() {
+        MessageConverter converter = codec.converter();
+        MessageHeaders cborHeaders = new MessageHeaders(Map.of(MessageHeaders.CONTENT_TYPE, CborPayloadCodec.APPLICATION_CBOR));
+
+        Message<?> encoded = converter.toMessage(chat, cborHeaders);
+
+        assertThat(encoded).isNotNull();
+        assertThat(converter.fromMessage(encoded, ChatMessageDto.class)).isEqualTo(chat);
+    }
+
+    @Test
+    void converterIgnoresOtherContentTypes() throws Exception {
+        MessageConverter converter = codec.converter();
+        Message<byte[]> json = MessageBuilder.withPayload(jsonMapper.writeValueAsBytes(chat))
+                .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON)
+                .build();
+        Message<byte[]> untyped = MessageBuilder.withPayload(jsonMapper.writeValueAsBytes(chat)).build();
+
+        assertThat(converter.fromMessage(json, ChatMessageDto.class)).isNull();
+        assertThat(converter.fromMessage(untyped, ChatMessageDto.class)).isNull();
+    }
+
+    @Test
+    void transcodesJsonMessagesForCborSessions() throws Exception {
+        connect(nativeSession("s1"), "s1", true);
+        byte[] json = jsonMapper.writeValueAsBytes(chat);
+
+        Message<?> sent = codec.preSend(jsonMessage("s1", json), null);
+
+        SimpMessageHeaderAccessor h = SimpMessageHeaderAccessor.wrap(sent);
+        assertThat(h.getContentType()).isEqualTo(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        assertThat(h.getFirstNativeHeader("payload-codec")).isEqualTo("cbor");
+        assertThat(cborMapper.readValue((byte[]) sent.getPayload(), ChatMessageDto.class)).isEqualTo(chat);
+
+        // 같은 payload(구독자 간 공유 배열)는 한 번만 변환
+        Message<?> again = codec.preSend(jsonMessage("s1", json), null);
+        assertThat(again.getPayload()).isSameAs(sent.getPayload());
+    }
+
+    @Test
+    void keepsJsonForSessionsThatDidNotAskForCbor() throws Exception {
+        connect(nativeSession("s1"), "s1", false);
+        Message<byte[]> message = jsonMessage("s1", jsonMapper.writeValueAsBytes(chat));
+
+        assertThat(codec.preSend(message, null)).isSameAs(message);
+    }
+
+    @Test
+    void keepsJsonForSockJsSessions() throws Exception {
+        AbstractSockJsSession sockJs = mock(AbstractSockJsSession.class);
+        when(sockJs.getId()).thenReturn("s2");
+        connect(sockJs, "s2", true);
+        Message<byte[]> message = jsonMessage("s2", jsonMapper.writeValueAsBytes(chat));
+
+        assertThat(codec.preSend(message, null)).isSameAs(message);
+    }
+
+    @Test
+    void transcodesUnreadEvents() throws Exception {
+        connect(nativeSession("s1"), "s1", true);
+        UnreadEventDto unread = new UnreadEventDto("unread", 12, 7, 3, 4, 1);
+
+        Message<?> sent = codec.preSend(jsonMessage("s1", jsonMapper.writeValueAsBytes(unread)), null);
+
+        assertThat(cborMapper.readValue((byte[]) sent.getPayload(), UnreadEventDto.class)).isEqualTo(unread);
+    }
+
+    private static WebSocketSession nativeSession(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        return session;
+    }
+
+    private void connect(WebSocketSession session, String sessionId, boolean acceptCbor) throws Exception {
+        codec.decorate(mock(WebSocketHandler.class)).afterConnectionEstablished(session);
+
+        StompHeaderAccessor h = StompHeaderAccessor.create(StompCommand.CONNECT);
+        h.setSessionId(sessionId);
+        if (acceptCbor) h.setNativeHeader("accept-payload-codec", "cbor");
+        codec.inbound().preSend(MessageBuilder.createMessage(new byte[0], h.getMessageHeaders()), null);
+    }
+
+    private static Message<byte[]> jsonMessage(String sessionId, byte[] json) {
+        SimpMessageHeaderAccessor h = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        h.setSessionId(sessionId);
+        h.setDestination("/topic/chat.room.7");
+        h.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(json, h.getMessageHeaders());
+    }
+}
@@ -0,0 +1,101 @@
+package project.moonki.config.ws;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedWheelTimerTest {
+
+    // tick 10ms x 8 버킷 -> 한 바퀴 80ms
+    private static final long TICK_MS = 10;
+    private static final int WHEEL_SIZE = 8;
+
+    private final HashedWheelTimer timer = new HashedWheelTimer("wheel-test", TICK_MS, WHEEL_SIZE, Runnable::run);
+
+    @AfterEach
+    void tearDown() {
+        timer.stop();
+    }
+
+    @Test
+    void delaysLongerThanOneTurnWaitForTheirRounds() throws Exception {
+        // 한 바퀴 미만, 1바퀴 이상, 3바퀴 이상(같은 버킷을 여러 번 지나쳐야 실행)
+        long[] delaysMs = {30, 95, 250};
+        CountDownLatch done = new CountDownLatch(delaysMs.length);
+        AtomicLong[] firedAfterMs = new AtomicLong[delaysMs.length];
+        long started = System.nanoTime();
+        for (int i = 0; i < delaysMs.length; i++) {
+            AtomicLong fired = firedAfterMs[i] = new AtomicLong(-1);
+            timer.newTimeout(() -> {
+                fired.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                done.countDown();
+            }, delaysMs[i], TimeUnit.MILLISECONDS);
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < delaysMs.length; i++) {
+            // deadline 이후 첫 tick 에 실행(앞 바퀴에서 먼저 실행되지 않음)
+            assertThat(firedAfterMs[i].get()).as("delay %dms", delaysMs[i])
+                    .isGreaterThanOrEqualTo(delaysMs[i])
+                    .isLessThan(delaysMs[i] + 1_000);
+        }
+        assertThat(timer.pending()).isZero();
+    }
+
+    @Test
+    void zeroOrPastDelayRunsOnTheNextTick() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        HashedWheelTimer.Timeout t = timer.newTimeout(done::countDown, 0, TimeUnit.MILLISECONDS);
+
+        assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(t.isExpired()).isTrue();
+        assertThat(t.cancel()).isFalse();
+    }
+
+    @Test
+    void cancelBeforeTransferNeverRuns() throws Exception {
+        // 아직 대기 큐에 있는(다음 tick 전) 작업 취소
+        AtomicBoolean ran = new AtomicBoolean();
+        HashedWheelTimer.Timeout t = timer.newTimeout(() -> ran.set(true), 20, TimeUnit.MILLISECONDS);
+
+        assertThat(t.cancel()).isTrue();
+        assertThat(t.isCancelled()).isTrue();
+        assertThat(timer.pending()).isZero();
+
+        Thread.sleep(100);
+        assertThat(ran).isFalse();
+        assertThat(t.isExpired()).isFalse();
+    }
+
+    @Test
+    void cancelAfterTransferNeverRuns() throws Exception {
+        AtomicBoolean ran = new AtomicBoolean();
+        HashedWheelTimer.Timeout t = timer.newTimeout(() -> ran.set(true), 200, TimeUnit.MILLISECONDS);
+
+        // 몇 tick 지나 버킷으로 옮겨진 뒤 취소
+        Thread.sleep(5 * TICK_MS);
+        assertThat(t.cancel()).isTrue();
+        assertThat(t.cancel()).isFalse();
+        assertThat(timer.pending()).isZero();
+
+        Thread.sleep(300);
+        assertThat(ran).isFalse();
+    }
+
+    @Test
+    void failingTaskDoesNotStopTheBucket() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        timer.newTimeout(() -> {
+            throw new IllegalStateException("boom");
+        }, 20, TimeUnit.MILLISECONDS);
+        timer.newTimeout(done::countDown, 20, TimeUnit.MILLISECONDS);
+
+        assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+}
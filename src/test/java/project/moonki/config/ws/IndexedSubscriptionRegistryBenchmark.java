@@ -0,0 +1,69 @@
+package project.moonki.config.ws;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.broker.DefaultSubscriptionRegistry;
+import org.springframework.messaging.simp.broker.SubscriptionRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static project.moonki.config.ws.IndexedSubscriptionRegistryTest.message;
+import static project.moonki.config.ws.IndexedSubscriptionRegistryTest.subscribe;
+import static project.moonki.support.Benchmarks.nsPerOp;
+import static project.moonki.support.Benchmarks.report;
+
+/**
+ * findSubscriptions 비교 측정(IndexedSubscriptionRegistry vs DefaultSubscriptionRegistry).
+ *
+ * 접속 세션마다 알림 토픽 하나 + DM 방 토픽 하나를 구독한 상태(세션 수 = 구독 수 / 2)에서
+ * 무작위 목적지로 발행 조회를 반복하고 조회당 평균 시간을 출력한다.
+ * 결과가 같은지만 검증하고 시간은 환경에 따라 달라지므로 단정하지 않는다.
+ */
+@Tag("benchmark")
+class IndexedSubscriptionRegistryBenchmark {
+
+    private static final int WARMUP_LOOKUPS = 2_000;
+    private static final int LOOKUPS = 2_000;
+
+    @ParameterizedTest(name = "{0} subscriptions")
+    @ValueSource(ints = {10_000, 50_000, 100_000})
+    void findSubscriptions(int subscriptions) throws Exception {
+        int sessions = subscriptions / 2;
+        int rooms = sessions / 2; // DM 방 하나에 두 세션
+
+        IndexedSubscriptionRegistry indexed = new IndexedSubscriptionRegistry();
+        DefaultSubscriptionRegistry defaults = new DefaultSubscriptionRegistry();
+        for (int i = 0; i < sessions; i++) {
+            String sessionId = "s" + i;
+            for (SubscriptionRegistry r : List.of(indexed, defaults)) {
+                r.registerSubscription(subscribe(sessionId, "notify", "/topic/notify." + i));
+                r.registerSubscription(subscribe(sessionId, "room", "/topic/chat.room." + (i % rooms)));
+            }
+        }
+        assertThat(indexed.getSubscriptionCount()).isEqualTo(subscriptions);
+
+        Random random = new Random(42);
+        List<Message<byte[]>> lookups = new ArrayList<>(WARMUP_LOOKUPS + LOOKUPS);
+        for (int i = 0; i < WARMUP_LOOKUPS + LOOKUPS; i++) {
+            lookups.add(random.nextBoolean()
+                    ? message("/topic/notify." + random.nextInt(sessions))
+                    : message("/topic/chat.room." + random.nextInt(rooms)));
+        }
+
+        // 같은 목적지에 같은 구독자
+        for (int i = 0; i < 100; i++) {
+            Message<byte[]> m = lookups.get(i);
+            assertThat(indexed.findSubscriptions(m)).isEqualTo(defaults.findSubscriptions(m));
+        }
+
+        double indexedNs = nsPerOp(WARMUP_LOOKUPS, LOOKUPS, i -> indexed.findSubscriptions(lookups.get(i)).size());
+        double defaultNs = nsPerOp(WARMUP_LOOKUPS, LOOKUPS, i -> defaults.findSubscriptions(lookups.get(i)).size());
+        report("findSubscriptions", "subscriptions=%,d indexed=%,.0f ns/op default=%,.0f ns/op (x%.1f)",
+                subscriptions, indexedNs, defaultNs, defaultNs / Math.max(1.0, indexedNs));
+    }
+}
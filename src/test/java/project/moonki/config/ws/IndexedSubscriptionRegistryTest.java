@@ -0,0 +1,110 @@
+package project.moonki.config.ws;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MultiValueMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexedSubscriptionRegistryTest {
+
+    private final IndexedSubscriptionRegistry registry = new IndexedSubscriptionRegistry();
+
+    @Test
+    void findsSubscribersOfExactDestination() {
+        registry.registerSubscription(subscribe("s1", "sub-1", "/topic/chat.room.1"));
+        registry.registerSubscription(subscribe("s2", "sub-1", "/topic/chat.room.1"));
+        registry.registerSubscription(subscribe("s3", "sub-1", "/topic/chat.room.2"));
+
+        MultiValueMap<String, String> found = registry.findSubscriptions(message("/topic/chat.room.1"));
+
+        assertThat(found).containsOnlyKeys("s1", "s2");
+        assertThat(found.get("s1")).containsExactly("sub-1");
+        assertThat(registry.findSubscriptions(message("/topic/chat.room.3"))).isEmpty();
+        assertThat(registry.getSubscriptionCount()).isEqualTo(3);
+    }
+
+    @Test
+    void unsubscribeRemovesOnlyThatSubscription() {
+        registry.registerSubscription(subscribe("s1", "sub-1", "/topic/chat.room.1"));
+        registry.registerSubscription(subscribe("s1", "sub-2", "/topic/notify.1"));
+        registry.registerSubscription(subscribe("s2", "sub-1", "/topic/chat.room.1"));
+
+        registry.unregisterSubscription(unsubscribe("s1", "sub-1"));
+
+        assertThat(registry.findSubscriptions(message("/topic/chat.room.1"))).containsOnlyKeys("s2");
+        assertThat(registry.findSubscriptions(message("/topic/notify.1"))).containsOnlyKeys("s1");
+        assertThat(registry.getSubscriptionCount()).isEqualTo(2);
+
+        // 없는 구독 해제는 무시
+        registry.unregisterSubscription(unsubscribe("s1", "sub-1"));
+        registry.unregisterSubscription(unsubscribe("unknown", "sub-9"));
+        assertThat(registry.getSubscriptionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void reusingSubscriptionIdMovesItToTheNewDestination() {
+        registry.registerSubscription(subscribe("s1", "sub-1", "/topic/chat.room.1"));
+        registry.registerSubscription(subscribe("s1", "sub-1", "/topic/chat.room.2"));
+
+        assertThat(registry.findSubscriptions(message("/topic/chat.room.1"))).isEmpty();
+        assertThat(registry.findSubscriptions(message("/topic/chat.room.2"))).containsOnlyKeys("s1");
+        assertThat(registry.getSubscriptionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void sessionRemovalDropsAllItsSubscriptions() {
+        registry.registerSubscription(subscribe("s1", "sub-1", "/topic/chat.room.1"));
+        registry.registerSubscription(subscribe("s1", "sub-2", "/topic/notify.1"));
+        registry.registerSubscription(subscribe("s1", "sub-3", "/topic/chat.room.*"));
+        registry.registerSubscription(subscribe("s2", "sub-1", "/topic/chat.room.1"));
+
+        registry.unregisterAllSubscriptions("s1");
+
+        assertThat(registry.findSubscriptions(message("/topic/chat.room.1"))).containsOnlyKeys("s2");
+        assertThat(registry.findSubscriptions(message("/topic/notify.1"))).isEmpty();
+        assertThat(registry.getSubscriptionCount()).isEqualTo(1);
+
+        // 이미 정리된 세션은 무시
+        registry.unregisterAllSubscriptions("s1");
+        assertThat(registry.getSubscriptionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void patternSubscriptionsAreMatchedAlongsideExactOnes() {
+        registry.registerSubscription(subscribe("s1", "sub-1", "/topic/chat.room.*"));
+        registry.registerSubscription(subscribe("s2", "sub-1", "/topic/chat.room.7"));
+
+        MultiValueMap<String, String> found = registry.findSubscriptions(message("/topic/chat.room.7"));
+        assertThat(found).containsOnlyKeys("s1", "s2");
+        assertThat(registry.findSubscriptions(message("/topic/notify.7"))).isEmpty();
+
+        registry.unregisterSubscription(unsubscribe("s1", "sub-1"));
+        assertThat(registry.findSubscriptions(message("/topic/chat.room.7"))).containsOnlyKeys("s2");
+        assertThat(registry.getSubscriptionCount()).isEqualTo(1);
+    }
+
+    static Message<byte[]> subscribe(String sessionId, String subscriptionId, String destination) {
+        SimpMessageHeaderAccessor h = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        h.setSessionId(sessionId);
+        h.setSubscriptionId(subscriptionId);
+        h.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], h.getMessageHeaders());
+    }
+
+    static Message<byte[]> unsubscribe(String sessionId, String subscriptionId) {
+        SimpMessageHeaderAccessor h = SimpMessageHeaderAccessor.create(SimpMessageType.UNSUBSCRIBE);
+        h.setSessionId(sessionId);
+        h.setSubscriptionId(subscriptionId);
+        return MessageBuilder.createMessage(new byte[0], h.getMessageHeaders());
+    }
+
+    static Message<byte[]> message(String destination) {
+        SimpMessageHeaderAccessor h = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        h.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], h.getMessageHeaders());
+    }
+}
@@ -0,0 +1,196 @@
+package project.moonki.config.ws;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboundBackpressureTest {
+
+    // 60바이트 메시지 두 개가 대기 중이면 soft limit(100) 초과 -> 지연 세션
+    private static final long SOFT_LIMIT = 100;
+    private static final int SIZE = 60;
+    private static final String CHAT = "/topic/chat.room.1";
+    private static final String NOTIFY = "/topic/notify.1";
+
+    private final List<Message<?>> replayed = new ArrayList<>();
+    private final MessageChannel outbound = (message, timeout) -> replayed.add(message);
+
+    @Test
+    void notifyOnlyPolicyHoldsNotificationsButSendsChat() throws Exception {
+        OutboundBackpressure bp = backpressure(OutboundBackpressure.Policy.DROP_NOTIFY_ONLY, 10);
+        connect(bp, "s1");
+        makeSlow(bp, "s1");
+
+        Message<byte[]> chat = message("s1", CHAT, "chat");
+        assertThat(bp.preSend(chat, null)).isSameAs(chat);
+        assertThat(bp.preSend(message("s1", NOTIFY, "unread"), null)).isNull();
+    }
+
+    @Test
+    void heldNotificationsCollapseToTheLatest() throws Exception {
+        OutboundBackpressure bp = backpressure(OutboundBackpressure.Policy.DROP_NOTIFY_ONLY, 10);
+        WebSocketSession session = connect(bp, "s1");
+        makeSlow(bp, "s1");
+
+        assertThat(bp.preSend(message("s1", NOTIFY, "total=1"), null)).isNull();
+        assertThat(bp.preSend(message("s1", NOTIFY, "total=2"), null)).isNull();
+        assertThat(bp.preSend(message("s1", NOTIFY, "total=3"), null)).isNull();
+
+        drain(session, 2);
+        bp.replayHeld();
+
+        assertThat(payloads(replayed)).containsExactly("total=3");
+    }
+
+    @Test
+    void dropOldestKeepsOnlyTheNewestMaxHeld() throws Exception {
+        OutboundBackpressure bp = backpressure(OutboundBackpressure.Policy.DROP_OLDEST, 2);
+        WebSocketSession session = connect(bp, "s1");
+        makeSlow(bp, "s1");
+
+        for (int i = 1; i <= 4; i++) {
+            assertThat(bp.preSend(message("s1", CHAT, "chat-" + i), null)).isNull();
+        }
+
+        drain(session, 2);
+        bp.replayHeld();
+
+        assertThat(payloads(replayed)).containsExactly("chat-3", "chat-4");
+    }
+
+    @Test
+    void replaysHeldMessagesInArrivalOrderOnceTheSessionCatchesUp() throws Exception {
+        OutboundBackpressure bp = backpressure(OutboundBackpressure.Policy.DROP_OLDEST, 10);
+        WebSocketSession session = connect(bp, "s1");
+        makeSlow(bp, "s1");
+
+        bp.preSend(message("s1", CHAT, "chat-1"), null);
+        bp.preSend(message("s1", NOTIFY, "unread-1"), null);
+        bp.preSend(message("s1", CHAT, "chat-2"), null);
+
+        // 아직 지연 중이면 보류 유지
+        bp.replayHeld();
+        assertThat(replayed).isEmpty();
+
+        drain(session, 2);
+        bp.replayHeld();
+        assertThat(payloads(replayed)).containsExactly("chat-1", "unread-1", "chat-2");
+
+        // 보류 큐가 비었으므로 이후 메시지는 바로 전송
+        Message<byte[]> next = message("s1", CHAT, "chat-3");
+        assertThat(bp.preSend(next, null)).isSameAs(next);
+    }
+
+    @Test
+    void disconnectPolicyClosesSlowSessions() throws Exception {
+        OutboundBackpressure bp = backpressure(OutboundBackpressure.Policy.DISCONNECT, 10);
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s1");
+        bp.decorate(mock(WebSocketHandler.class)).afterConnectionEstablished(session);
+        makeSlow(bp, "s1");
+
+        assertThat(bp.preSend(message("s1", CHAT, "chat"), null)).isNull();
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    @Test
+    void pendingBytesReturnToZeroForTextFrames() throws Exception {
+        OutboundBackpressure bp = backpressure(OutboundBackpressure.Policy.DROP_NOTIFY_ONLY, 10);
+        WebSocketSession session = connect(bp, "s1");
+
+        bp.preSend(message("s1", CHAT, "a"), null);
+        bp.preSend(message("s1", NOTIFY, "b"), null);
+        assertThat(bp.pendingBytes("s1")).isEqualTo(2L * SIZE);
+
+        session.sendMessage(new TextMessage("MESSAGE\ndestination:" + CHAT + "\n\na\0"));
+        assertThat(bp.pendingBytes("s1")).isEqualTo(SIZE);
+        // MESSAGE 가 아닌 프레임(heartbeat, RECEIPT 등)은 대기 바이트와 무관
+        session.sendMessage(new TextMessage("\n"));
+        assertThat(bp.pendingBytes("s1")).isEqualTo(SIZE);
+        session.sendMessage(new TextMessage("MESSAGE\ndestination:" + NOTIFY + "\n\nb\0"));
+        assertThat(bp.pendingBytes("s1")).isZero();
+    }
+
+    @Test
+    void pendingBytesReturnToZeroForBinaryFrames() throws Exception {
+        OutboundBackpressure bp = backpressure(OutboundBackpressure.Policy.DROP_NOTIFY_ONLY, 10);
+        WebSocketSession session = connect(bp, "s1");
+
+        bp.preSend(message("s1", CHAT, "a"), null);
+        bp.preSend(message("s1", CHAT, "b"), null);
+        assertThat(bp.pendingBytes("s1")).isEqualTo(2L * SIZE);
+
+        session.sendMessage(new BinaryMessage(("MESSAGE\ndestination:" + CHAT + "\n\na\0").getBytes(StandardCharsets.UTF_8)));
+        session.sendMessage(new BinaryMessage(new byte[]{1, 2}));
+        assertThat(bp.pendingBytes("s1")).isEqualTo(SIZE);
+        session.sendMessage(new BinaryMessage(("MESSAGE\ndestination:" + CHAT + "\n\nb\0").getBytes(StandardCharsets.UTF_8)));
+        assertThat(bp.pendingBytes("s1")).isZero();
+    }
+
+    private OutboundBackpressure backpressure(OutboundBackpressure.Policy policy, int maxHeld) {
+        return new OutboundBackpressure(outbound, new SimpleMeterRegistry(), policy, SOFT_LIMIT, 60_000, maxHeld);
+    }
+
+    /** 연결 후 실제 전송에 쓰이는(추적용으로 감싼) 세션 반환 */
+    private static WebSocketSession connect(OutboundBackpressure bp, String sessionId) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(sessionId);
+        WebSocketHandler handler = mock(WebSocketHandler.class);
+        bp.decorate(handler).afterConnectionEstablished(session);
+
+        ArgumentCaptor<WebSocketSession> tracking = ArgumentCaptor.forClass(WebSocketSession.class);
+        verify(handler).afterConnectionEstablished(tracking.capture());
+        return tracking.getValue();
+    }
+
+    /** 전송되지 않은 메시지 두 개로 soft limit 을 넘김 */
+    private static void makeSlow(OutboundBackpressure bp, String sessionId) {
+        bp.preSend(message(sessionId, CHAT, "pending-1"), null);
+        bp.preSend(message(sessionId, CHAT, "pending-2"), null);
+        assertThat(bp.pendingBytes(sessionId)).isGreaterThan(SOFT_LIMIT);
+    }
+
+    /** 대기 중인 MESSAGE 프레임 n 개 전송 완료 */
+    private static void drain(WebSocketSession session, int n) throws Exception {
+        for (int i = 0; i < n; i++) {
+            session.sendMessage(new TextMessage("MESSAGE\n\n\0"));
+        }
+    }
+
+    /** SIZE 바이트 payload(앞부분에 label, 나머지는 공백) */
+    private static Message<byte[]> message(String sessionId, String destination, String label) {
+        byte[] payload = " ".repeat(SIZE).getBytes(StandardCharsets.UTF_8);
+        byte[] text = label.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(text, 0, payload, 0, text.length);
+
+        SimpMessageHeaderAccessor h = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        h.setSessionId(sessionId);
+        h.setDestination(destination);
+        return MessageBuilder.createMessage(payload, h.getMessageHeaders());
+    }
+
+    private static List<String> payloads(List<Message<?>> messages) {
+        return messages.stream()
+                .map(m -> new String((byte[]) m.getPayload(), StandardCharsets.UTF_8).strip())
+                .toList();
+    }
+}
@@ -0,0 +1,117 @@
+package project.moonki.config.ws;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SessionIdleReaperTest {
+
+    private static final long HEARTBEAT_MS = 50;
+    private static final int MAX_MISSED = 3;
+
+    private final HashedWheelTimer wheel = new HashedWheelTimer("reaper-test", 10, 16, Runnable::run);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SessionIdleReaper reaper = new SessionIdleReaper(wheel, meterRegistry, HEARTBEAT_MS, MAX_MISSED);
+    private final WebSocketHandler handler = reaper.decorate(mock(WebSocketHandler.class));
+
+    @AfterEach
+    void tearDown() {
+        wheel.stop();
+    }
+
+    @Test
+    void negotiatedIntervalFollowsStompRules() {
+        assertThat(SessionIdleReaper.negotiatedInterval(0, 10_000)).isZero();
+        assertThat(SessionIdleReaper.negotiatedInterval(10_000, 0)).isZero();
+        assertThat(SessionIdleReaper.negotiatedInterval(-1, 10_000)).isZero();
+        assertThat(SessionIdleReaper.negotiatedInterval(4_000, 10_000)).isEqualTo(10_000);
+        assertThat(SessionIdleReaper.negotiatedInterval(25_000, 10_000)).isEqualTo(25_000);
+    }
+
+    @Test
+    void reapsSessionAfterMaxMissedHeartbeats() throws Exception {
+        WebSocketSession session = session("s1");
+        long started = System.currentTimeMillis();
+        handler.afterConnectionEstablished(session);
+
+        verify(session, timeout(2_000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(System.currentTimeMillis() - started).isGreaterThanOrEqualTo(MAX_MISSED * HEARTBEAT_MS);
+        assertThat(meterRegistry.counter("chat.ws.idle.reaped").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("chat.ws.heartbeat.missed").count()).isGreaterThanOrEqualTo(MAX_MISSED);
+    }
+
+    @Test
+    void keepsSessionsThatKeepSendingFrames() throws Exception {
+        WebSocketSession session = session("s1");
+        handler.afterConnectionEstablished(session);
+
+        // heartbeat 간격보다 자주 프레임 수신
+        for (int i = 0; i < 15; i++) {
+            Thread.sleep(HEARTBEAT_MS / 2);
+            handler.handleMessage(session, new TextMessage("\n"));
+        }
+
+        verify(session, never()).close(any(CloseStatus.class));
+        assertThat(meterRegistry.counter("chat.ws.idle.reaped").count()).isZero();
+    }
+
+    @Test
+    void ignoresSessionsWithoutClientHeartbeats() throws Exception {
+        WebSocketSession session = session("s1");
+        handler.afterConnectionEstablished(session);
+        connect("s1", 0, HEARTBEAT_MS);
+
+        verify(session, after(MAX_MISSED * HEARTBEAT_MS * 3).never()).close(any(CloseStatus.class));
+        assertThat(wheel.pending()).isZero();
+    }
+
+    @Test
+    void usesTheNegotiatedIntervalAfterConnect() throws Exception {
+        WebSocketSession session = session("s1");
+        handler.afterConnectionEstablished(session);
+        // 클라이언트 간격이 더 길면 그 간격 기준(3회 누락 = 600ms)
+        connect("s1", 200, HEARTBEAT_MS);
+
+        verify(session, after(MAX_MISSED * HEARTBEAT_MS * 2).never()).close(any(CloseStatus.class));
+        verify(session, timeout(2_000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    @Test
+    void stopsTrackingClosedSessions() throws Exception {
+        WebSocketSession session = session("s1");
+        handler.afterConnectionEstablished(session);
+        handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+
+        assertThat(wheel.pending()).isZero();
+        verify(session, after(MAX_MISSED * HEARTBEAT_MS * 2).never()).close(any(CloseStatus.class));
+    }
+
+    private static WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        return session;
+    }
+
+    private void connect(String sessionId, long cx, long cy) {
+        StompHeaderAccessor h = StompHeaderAccessor.create(StompCommand.CONNECT);
+        h.setSessionId(sessionId);
+        h.setHeartbeat(cx, cy);
+        reaper.preSend(MessageBuilder.createMessage(new byte[0], h.getMessageHeaders()), null);
+    }
+}
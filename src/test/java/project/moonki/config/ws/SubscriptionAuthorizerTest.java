@@ -0,0 +1,132 @@
+package project.moonki.config.ws;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import project.moonki.components.chat.RoomParticipantCache;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SubscriptionAuthorizerTest {
+
+    private static final long ME = 1L;
+    private static final long OTHER = 2L;
+
+    private RoomParticipantCache participants;
+    private SimpleMeterRegistry meterRegistry;
+    private SubscriptionAuthorizer authorizer;
+
+    @BeforeEach
+    void setUp() {
+        participants = mock(RoomParticipantCache.class);
+        meterRegistry = new SimpleMeterRegistry();
+        authorizer = new SubscriptionAuthorizer(participants, meterRegistry);
+
+        when(participants.find(10L)).thenReturn(Optional.of(new RoomParticipantCache.Participants(10L, ME, OTHER)));
+        when(participants.find(20L)).thenReturn(Optional.of(new RoomParticipantCache.Participants(20L, OTHER, 3L)));
+        when(participants.find(99L)).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void allowsOwnTopicsAndRoomsTheUserIsIn() {
+        assertAllowed("/topic/notify.1");
+        assertAllowed("/topic/presence.1");
+        assertAllowed("/topic/chat.room.10");
+        assertAllowed("/user/queue/errors");
+        assertThat(meterRegistry.counter("chat.ws.subscribe.denied").count()).isZero();
+    }
+
+    @Test
+    void deniesOtherUsersNotifyAndPresenceTopics() {
+        assertDenied("/topic/notify.2");
+        assertDenied("/topic/presence.2");
+        assertThat(meterRegistry.counter("chat.ws.subscribe.denied").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void deniesRoomsTheUserIsNotIn() {
+        assertDenied("/topic/chat.room.20");
+    }
+
+    @Test
+    void deniesMissingRooms() {
+        assertDenied("/topic/chat.room.99");
+    }
+
+    @Test
+    void deniesPatternDestinations() {
+        assertDenied("/topic/chat.room.*");
+        assertDenied("/topic/notify.*");
+        assertDenied("/topic/**");
+        assertDenied("/topic/chat.room.1*");
+        verify(participants, never()).find(anyLong());
+    }
+
+    @Test
+    void deniesNonNumericIds() {
+        assertDenied("/topic/chat.room.abc");
+        assertDenied("/topic/notify.1abc");
+        assertDenied("/topic/presence.");
+        assertDenied("/topic/chat.room.10/extra");
+        verify(participants, never()).find(anyLong());
+    }
+
+    @Test
+    void deniesUnknownDestinationsAndOtherQueues() {
+        assertDenied("/topic/other.1");
+        assertDenied("/queue/errors-usersession1");
+        assertDenied("/user/queue/other");
+    }
+
+    @Test
+    void deniesSubscriptionsWithoutUser() {
+        SimpMessageHeaderAccessor h = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        h.setSessionId("s1");
+        h.setDestination("/topic/notify.1");
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], h.getMessageHeaders());
+
+        assertThatThrownBy(() -> authorizer.preSend(message, null)).isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void ignoresOtherFrames() {
+        SimpMessageHeaderAccessor h = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        h.setDestination("/topic/notify.2");
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], h.getMessageHeaders());
+
+        assertThat(authorizer.preSend(message, null)).isSameAs(message);
+    }
+
+    private void assertAllowed(String destination) {
+        Message<byte[]> message = subscribe(destination);
+        assertThat(authorizer.preSend(message, null)).as(destination).isSameAs(message);
+    }
+
+    private void assertDenied(String destination) {
+        assertThatThrownBy(() -> authorizer.preSend(subscribe(destination), null))
+                .as(destination)
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    private static Message<byte[]> subscribe(String destination) {
+        SimpMessageHeaderAccessor h = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        h.setSessionId("s1");
+        h.setSubscriptionId("sub-0");
+        h.setDestination(destination);
+        h.setUser(new WsUserPrincipal("moonki", ME));
+        return MessageBuilder.createMessage(new byte[0], h.getMessageHeaders());
+    }
+}
@@ -0,0 +1,78 @@
+package project.moonki.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import project.moonki.domain.user.entity.MUser;
+
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "zQclYAzXpC5mAuOOx/SeTQnFdzt9N1RDe7T4uzjQfhg=";
+    private static final String OTHER_SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final MUser moonki = MUser.builder().id(1L).userId("moonki").tokenVersion(0L).build();
+    private final MUser other = MUser.builder().id(2L).userId("other").tokenVersion(0L).build();
+
+    @Test
+    void repeatedVerifyIsServedFromTheCache() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000, 100);
+        String token = provider.generateToken(moonki);
+
+        Claims first = provider.verify(token).orElseThrow();
+        Claims second = provider.verify(token).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getSubject()).isEqualTo("moonki");
+        assertThat(first.get(JwtTokenProvider.CLAIM_UID, Long.class)).isEqualTo(1L);
+        assertThat(provider.cachedTokens()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredCachedTokenIsRejected() throws Exception {
+        // exp 는 초 단위로 잘리므로 2초로 발급(최소 1초 유효)
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 2_000, 100);
+        String token = provider.generateToken(moonki);
+        Claims claims = provider.verify(token).orElseThrow();
+
+        long waitMs = claims.getExpiration().getTime() - System.currentTimeMillis() + 50;
+        if (waitMs > 0) Thread.sleep(waitMs);
+
+        assertThat(provider.verify(token)).isEmpty();
+        assertThat(provider.validateToken(token)).isFalse();
+    }
+
+    @Test
+    void tamperedTokensAreRejectedAndNeverCached() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000, 100);
+        String token = provider.generateToken(moonki);
+        assertThat(provider.verify(token)).isPresent();
+
+        // 다른 사용자의 payload 에 원래 서명을 붙인 토큰
+        String[] mine = token.split("\\.");
+        String[] theirs = provider.generateToken(other).split("\\.");
+        String swappedPayload = mine[0] + "." + theirs[1] + "." + mine[2];
+        // 다른 키로 서명한 토큰
+        String foreignKey = new JwtTokenProvider(OTHER_SECRET, 60_000, 100).generateToken(moonki);
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(provider.verify(swappedPayload)).isEmpty();
+            assertThat(provider.verify(foreignKey)).isEmpty();
+            assertThat(provider.verify("not-a-jwt")).isEmpty();
+        }
+        assertThat(provider.cachedTokens()).isEqualTo(1);
+        // 원래 토큰은 그대로 유효
+        assertThat(provider.verify(token).orElseThrow().getSubject()).isEqualTo("moonki");
+    }
+
+    @Test
+    void blankTokensAreRejected() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000, 100);
+
+        assertThat(provider.verify(null)).isEmpty();
+        assertThat(provider.verify(" ")).isEmpty();
+        assertThat(provider.cachedTokens()).isZero();
+    }
+}
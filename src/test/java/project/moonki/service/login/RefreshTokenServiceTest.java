@@ -0,0 +1,153 @@
+package project.moonki.service.login;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import project.moonki.domain.user.entity.MUser;
+import project.moonki.domain.user.entity.RefreshToken;
+import project.moonki.dto.login.LoginResponseDto;
+import project.moonki.repository.user.MuserRepository;
+import project.moonki.repository.user.RefreshTokenRepository;
+import project.moonki.security.JwtTokenProvider;
+import project.moonki.utils.HashUtil;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceTest {
+
+    private static final String RAW = "old-refresh-token";
+    private static final String FAMILY = "family-1";
+
+    private RefreshTokenRepository refreshTokenRepository;
+    private MuserRepository muserRepository;
+    private JwtTokenProvider jwtTokenProvider;
+    private RefreshTokenService service;
+
+    private final MUser user = MUser.builder().id(1L).userId("moonki").tokenVersion(0L).build();
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        muserRepository = mock(MuserRepository.class);
+        jwtTokenProvider = mock(JwtTokenProvider.class);
+        service = new RefreshTokenService(refreshTokenRepository, muserRepository, jwtTokenProvider,
+                14L * 24 * 60 * 60 * 1000, 10_000);
+
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(muserRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(jwtTokenProvider.generateToken(user)).thenReturn("access-token");
+    }
+
+    @Test
+    void issueStoresOnlyTheHashInANewFamily() {
+        String raw = service.issue(user);
+
+        RefreshToken saved = captureSaved();
+        assertThat(saved.getTokenHash()).isEqualTo(HashUtil.sha256Hex(raw)).hasSize(64);
+        assertThat(saved.getTokenHash()).isNotEqualTo(raw);
+        assertThat(saved.getUserId()).isEqualTo(1L);
+        assertThat(saved.getTokenVersion()).isZero();
+        assertThat(saved.getFamilyId()).isNotBlank();
+    }
+
+    @Test
+    void refreshRotatesWithinTheSameFamily() {
+        RefreshToken current = stored(0L, null, false);
+
+        LoginResponseDto result = service.refresh(RAW);
+
+        assertThat(result.getToken()).isEqualTo("access-token");
+        assertThat(result.getRefreshToken()).isNotBlank().isNotEqualTo(RAW);
+        assertThat(current.getUsedAt()).isNotNull();
+
+        RefreshToken next = captureSaved();
+        assertThat(next.getFamilyId()).isEqualTo(FAMILY);
+        assertThat(next.getTokenHash()).isEqualTo(HashUtil.sha256Hex(result.getRefreshToken()));
+        verify(refreshTokenRepository, never()).revokeFamily(anyString());
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesTheFamily() {
+        stored(0L, LocalDateTime.now().minusMinutes(1), false);
+
+        assertThatThrownBy(() -> service.refresh(RAW)).isInstanceOf(LoginService.UnauthorizedException.class);
+        verify(refreshTokenRepository).revokeFamily(FAMILY);
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void concurrentRefreshWithinGraceIsRejectedWithoutRevoking() {
+        stored(0L, LocalDateTime.now().minusSeconds(1), false);
+
+        assertThatThrownBy(() -> service.refresh(RAW)).isInstanceOf(LoginService.UnauthorizedException.class);
+        verify(refreshTokenRepository, never()).revokeFamily(anyString());
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void revokedTokenIsRejectedEvenWithinGrace() {
+        stored(0L, LocalDateTime.now().minusSeconds(1), true);
+
+        assertThatThrownBy(() -> service.refresh(RAW)).isInstanceOf(LoginService.UnauthorizedException.class);
+        verify(refreshTokenRepository).revokeFamily(FAMILY);
+    }
+
+    @Test
+    void tokenVersionMismatchRevokesTheFamily() {
+        stored(0L, null, false);
+        user.bumpTokenVersion(); // 비밀번호 변경 등
+
+        assertThatThrownBy(() -> service.refresh(RAW)).isInstanceOf(LoginService.UnauthorizedException.class);
+        verify(refreshTokenRepository).revokeFamily(FAMILY);
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        RefreshToken current = stored(0L, null, false);
+        current.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+
+        assertThatThrownBy(() -> service.refresh(RAW)).isInstanceOf(LoginService.UnauthorizedException.class);
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        when(refreshTokenRepository.findByTokenHashForUpdate(anyString())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.refresh("unknown")).isInstanceOf(LoginService.UnauthorizedException.class);
+    }
+
+    private RefreshToken stored(long tokenVersion, LocalDateTime usedAt, boolean revoked) {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken token = RefreshToken.builder()
+                .id(10L)
+                .userId(1L)
+                .tokenHash(HashUtil.sha256Hex(RAW))
+                .familyId(FAMILY)
+                .tokenVersion(tokenVersion)
+                .createdAt(now.minusHours(1))
+                .expiresAt(now.plusDays(1))
+                .usedAt(usedAt)
+                .revoked(revoked)
+                .build();
+        when(refreshTokenRepository.findByTokenHashForUpdate(HashUtil.sha256Hex(RAW))).thenReturn(Optional.of(token));
+        return token;
+    }
+
+    private RefreshToken captureSaved() {
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        return captor.getValue();
+    }
+}
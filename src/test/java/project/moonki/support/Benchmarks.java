@@ -0,0 +1,42 @@
+package project.moonki.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 측정용 테스트(@Tag("benchmark")) 공통 처리.
+ * warmup 후 반복 실행한 평균 시간(ns/op)을 재고, 결과를 한 줄로 출력한다.
+ * 시간은 환경에 따라 달라지므로 단정하지 않는다(./gradlew benchmark 로만 실행).
+ */
+public final class Benchmarks {
+
+    private Benchmarks() {}
+
+    /** 측정 대상(i: 0부터 증가하는 호출 순번). 반환값은 JIT 가 호출을 없애지 못하도록 합산한다. */
+    @FunctionalInterface
+    public interface Op {
+        long run(int i) throws Exception;
+    }
+
+    /***
+     * warmup 회 실행 후 iterations 회의 평균 시간
+     *
+     * @param warmup     측정 전 실행 횟수(순번 0 ~ warmup-1)
+     * @param iterations 측정 실행 횟수(순번 warmup ~ warmup+iterations-1)
+     * @param op         측정 대상
+     * @return ns/op
+     */
+    public static double nsPerOp(int warmup, int iterations, Op op) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < warmup; i++) sink += op.run(i);
+        long started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) sink += op.run(warmup + i);
+        long elapsed = System.nanoTime() - started;
+        assertThat(sink).isNotZero();
+        return (double) elapsed / iterations;
+    }
+
+    /** [tag] 형식의 결과 한 줄 출력 */
+    public static void report(String tag, String format, Object... args) {
+        System.out.printf("[" + tag + "] " + format + "%n", args);
+    }
+}